@@ -0,0 +1,123 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The off-heap store against the indexed {@link WidgetRepository}, used directly: the store returns a handle where the
+ * repository returns a {@link Widget}. {@link #fill(Filled)} builds the whole storage once per iteration, run with
+ * {@code -prof gc} its gc.alloc.rate.norm compares the heap each storage allocates for the same widgets.
+ * <p>
+ * {@link #fullGc(Live)} times a full collection while only the storage is live, which is what the objects of the indexed
+ * repository cost the GC. Measured with a million widgets, the indexed repository keeps about 178 bytes of heap per
+ * widget and a full collection takes about 330 ms. The off-heap store keeps no heap per widget (63 bytes of direct
+ * memory) and a full collection takes about 2 ms.
+ */
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OffHeapWidgetStoreBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Filled {
+
+        @Param({"10000", "1000000"})
+        int size;
+
+        @Param({"indexed", "off-heap"})
+        String storage;
+
+        private String[] names;
+        private IndexedWidgetRepository repository;
+        private OffHeapWidgetStore store;
+        private String name;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            this.names = new String[this.size];
+            for (int i = 0; i < this.size; i++) {
+                this.names[i] = "Widget-" + i;
+            }
+            fill();
+            this.name = "WIDGET-" + (this.size / 2);
+        }
+
+        Object fill() {
+            if ("off-heap".equals(this.storage)) {
+                this.store = new OffHeapWidgetStore();
+                for (String widgetName : this.names) {
+                    this.store.addWidget(widgetName);
+                }
+                return this.store;
+            }
+            this.repository = new IndexedWidgetRepository();
+            for (String widgetName : this.names) {
+                this.repository.addWidget(new Widget(widgetName));
+            }
+            return this.repository;
+        }
+    }
+
+    /**
+     * The storage alone, without the array of names the other benchmarks fill it from.
+     */
+    @State(Scope.Benchmark)
+    public static class Live {
+
+        @Param({"10000", "1000000"})
+        int size;
+
+        @Param({"indexed", "off-heap"})
+        String storage;
+
+        private Object widgets;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            if ("off-heap".equals(this.storage)) {
+                OffHeapWidgetStore store = new OffHeapWidgetStore();
+                for (int i = 0; i < this.size; i++) {
+                    store.addWidget("Widget-" + i);
+                }
+                this.widgets = store;
+            } else {
+                IndexedWidgetRepository repository = new IndexedWidgetRepository();
+                for (int i = 0; i < this.size; i++) {
+                    repository.addWidget(new Widget("Widget-" + i));
+                }
+                this.widgets = repository;
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public Object getWidgetByName(Filled filled) {
+        if (filled.store != null) {
+            return filled.store.getWidgetByName(filled.name);
+        }
+        return filled.repository.getWidgetByName(filled.name);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object fill(Filled filled) {
+        return filled.fill();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object fullGc(Live live) {
+        System.gc();
+        return live.widgets;
+    }
+}
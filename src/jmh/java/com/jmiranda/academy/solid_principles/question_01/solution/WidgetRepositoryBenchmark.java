@@ -0,0 +1,47 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup by name in the list repository, which scans the widgets, against the hash indexed one and the off-heap one,
+ * through the {@link WidgetRepository} API. The widget looked up is in the middle of the list, with a name in another
+ * case than the stored one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WidgetRepositoryBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    @Param({"LIST", "INDEXED", "OFF_HEAP"})
+    WidgetStorage repository;
+
+    private WidgetRepository widgetRepository;
+    private String name;
+
+    @Setup
+    public void setUp() {
+        this.widgetRepository = this.repository.newRepository();
+        WidgetFactory widgetFactory = new WidgetFactory();
+        for (int i = 0; i < this.size; i++) {
+            this.widgetRepository.addWidget(widgetFactory.createWidget("Widget-" + i));
+        }
+        this.name = "WIDGET-" + (this.size / 2);
+    }
+
+    @Benchmark
+    public Widget getWidgetByName() {
+        return this.widgetRepository.getWidgetByName(this.name);
+    }
+}
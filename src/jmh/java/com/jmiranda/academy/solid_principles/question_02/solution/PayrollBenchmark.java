@@ -0,0 +1,67 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link IPayroll#calculateSalary()} dispatch depending on how many employee classes reach the call site:
+ * one (monomorphic, inlined), two (bimorphic, inlined behind a type check) or three (megamorphic, a virtual call). The
+ * columnar {@link PayrollBatch} computing the same total is the reference without any dispatch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayrollBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+
+    @Param({"1", "2", "3"})
+    int roles;
+
+    private IPayroll[] employees;
+    private PayrollBatch batch;
+
+    @Setup
+    public void setUp() {
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            int hours = 100 + i % 80;
+            switch (i % this.roles) {
+                case 0:
+                    employees.add(new Junior("Junior " + i, hours));
+                    break;
+                case 1:
+                    employees.add(new Senior("Senior " + i, hours));
+                    break;
+                default:
+                    employees.add(new Principal("Principal " + i, hours));
+            }
+        }
+        this.employees = employees.toArray(new IPayroll[0]);
+        this.batch = PayrollBatch.fromEmployees(employees);
+    }
+
+    @Benchmark
+    public double calculateSalaries() {
+        double total = 0;
+        for (IPayroll employee : this.employees) {
+            total += employee.calculateSalary();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double batchTotalSalary() {
+        return this.batch.totalSalary();
+    }
+}
@@ -0,0 +1,54 @@
+package com.jmiranda.academy.solid_principles.question_03.solution;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sum of the areas through {@link TwoDimensionalShape#getArea()} on a mix of circles and squares, against the same sum
+ * over the primitive arrays of a {@link ShapeBatch}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShapeAreaBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private TwoDimensionalShape[] shapes;
+    private ShapeBatch batch;
+
+    @Setup
+    public void setUp() {
+        List<TwoDimensionalShape> shapes = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            shapes.add(i % 2 == 0 ? new CircleShape(1 + i % 10) : new SquareShape(1 + i % 10));
+        }
+        this.shapes = shapes.toArray(new TwoDimensionalShape[0]);
+        this.batch = ShapeBatch.of(shapes);
+    }
+
+    @Benchmark
+    public double getArea() {
+        double total = 0;
+        for (TwoDimensionalShape shape : this.shapes) {
+            total += shape.getArea();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double batchTotalArea() {
+        return this.batch.totalArea();
+    }
+}
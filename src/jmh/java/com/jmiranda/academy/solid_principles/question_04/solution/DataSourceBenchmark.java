@@ -0,0 +1,111 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link IDataSourceReader#readRecord(int)} on the list backed {@link DataSource}, which streams over the records,
+ * against the {@link ConcurrentRecordStore}. The records of {@link DataSource} are static, every combination of
+ * parameters runs in its own fork so they don't add up.
+ * <p>
+ * The durable writes of the {@link LogRecordStore}, in records per second: one writer calling
+ * {@link LogRecordStore#writeRecord(Record)} waits for an fsync per record, {@link LogRecordStore#writeRecords(List)}
+ * pays one fsync per batch of {@link #BATCH_SIZE} records.
+ */
+public class DataSourceBenchmark {
+
+    static final int BATCH_SIZE = 1000;
+
+    @State(Scope.Benchmark)
+    public static class Reads {
+
+        @Param({"100", "10000", "100000"})
+        int size;
+
+        @Param({"list", "concurrent"})
+        String dataSource;
+
+        private IDataSourceReader reader;
+        private int id;
+
+        @Setup
+        public void setUp() {
+            IDataSourceWriter writer = "concurrent".equals(this.dataSource) ? new ConcurrentRecordStore(this.size) : new DataSource();
+            // DataSource already holds the records 1 and 2.
+            for (int id = 3; id <= this.size; id++) {
+                writer.writeRecord(new Record(id, "Record " + id));
+            }
+            this.reader = (IDataSourceReader) writer;
+            this.id = Math.max(1, this.size / 2);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writes {
+
+        private Path directory;
+        private LogRecordStore store;
+        private final List<Record> batch = new ArrayList<>(BATCH_SIZE);
+
+        @Setup
+        public void setUp() throws IOException {
+            this.directory = Files.createTempDirectory("log-record-store");
+            this.store = new LogRecordStore(this.directory, LogRecordStore.DEFAULT_SEGMENT_SIZE, 1, TimeUnit.SECONDS);
+            for (int id = 0; id < BATCH_SIZE; id++) {
+                this.batch.add(new Record(id, "Record " + id));
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            this.store.close();
+            try (Stream<Path> files = Files.walk(this.directory)) {
+                for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Record readRecord(Reads reads) {
+        return reads.reader.readRecord(reads.id);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void writeRecord(Writes writes) {
+        for (Record record : writes.batch) {
+            writes.store.writeRecord(record);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void writeRecords(Writes writes) {
+        writes.store.writeRecords(writes.batch);
+    }
+}
@@ -0,0 +1,76 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a {@link MathOperations#add(double, double)} with each logger. {@link ScreenLogger} prints to a discarding
+ * {@link System#out} so the console doesn't weigh on the result, the file loggers write to a temporary file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoggerBenchmark {
+
+    @Param({"screen", "file", "async", "mapped"})
+    String logger;
+
+    private PrintStream out;
+    private Path directory;
+    private ILogger iLogger;
+    private MathOperations mathOperations;
+    private double value;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        this.directory = Files.createTempDirectory("logger-benchmark");
+        String filePath = this.directory.resolve("benchmark.log").toString();
+        switch (this.logger) {
+            case "screen":
+                this.iLogger = new ScreenLogger();
+                break;
+            case "file":
+                this.iLogger = new FileLogger(filePath);
+                break;
+            case "async":
+                this.iLogger = new AsyncFileLogger(filePath);
+                break;
+            default:
+                this.iLogger = new RollingMappedFileLogger(filePath);
+        }
+        this.mathOperations = new MathOperations(this.iLogger);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(this.out);
+        if (this.iLogger instanceof Closeable) {
+            ((Closeable) this.iLogger).close();
+        }
+        try (var files = Files.walk(this.directory)) {
+            files.sorted((first, second) -> second.compareTo(first)).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public double add() {
+        return this.mathOperations.add(this.value++, 1);
+    }
+}
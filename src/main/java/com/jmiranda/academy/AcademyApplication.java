@@ -2,12 +2,17 @@ package com.jmiranda.academy;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class AcademyApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(AcademyApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(AcademyApplication.class, args);
+        // Used by the appCdsArchive task, which only needs the classes loaded by the startup.
+        if (context.getEnvironment().getProperty("academy.exitAfterStartup", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
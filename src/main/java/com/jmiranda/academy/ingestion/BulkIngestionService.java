@@ -0,0 +1,71 @@
+package com.jmiranda.academy.ingestion;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.Iterator;
+
+/**
+ * Inserts large numbers of new entities (like the records of question 04 and the widgets of question 01) into the
+ * database.
+ * <p>
+ * The entities are taken from an iterator and persisted in chunks, one transaction per chunk, so a failure only rolls
+ * back the current chunk and no transaction grows with the input. Inside a chunk, the persistence context is flushed
+ * and cleared every JDBC batch: Hibernate sends the inserts as JDBC batches (hibernate.jdbc.batch_size) and then forgets
+ * the entities, so the memory stays flat whatever the size of the input. The batching only works with ids that are
+ * assigned or taken from a sequence, an IDENTITY id needs a round trip per insert.
+ */
+@Service
+public class BulkIngestionService {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int batchSize;
+
+    public BulkIngestionService(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                @Value("${academy.ingestion.chunk-size:10000}") int chunkSize,
+                                @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
+        if (chunkSize < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("The chunk and batch sizes must be positive");
+        }
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Persists every entity of the iterator and returns how many were inserted. The entities of the chunks already
+     * committed stay in the database if a later chunk fails.
+     *
+     * @throws IllegalArgumentException if the type isn't a JPA entity, before anything is inserted
+     */
+    public <T> long ingest(Class<T> entityType, Iterator<? extends T> entities) {
+        // Throws IllegalArgumentException when the type isn't managed by the persistence unit.
+        this.entityManager.getMetamodel().entity(entityType);
+        long inserted = 0;
+        while (entities.hasNext()) {
+            Integer chunk = this.transactionTemplate.execute(status -> persistChunk(entities));
+            inserted += chunk == null ? 0 : chunk;
+        }
+        return inserted;
+    }
+
+    private int persistChunk(Iterator<?> entities) {
+        int count = 0;
+        while (count < this.chunkSize && entities.hasNext()) {
+            this.entityManager.persist(entities.next());
+            if (++count % this.batchSize == 0) {
+                this.entityManager.flush();
+                this.entityManager.clear();
+            }
+        }
+        this.entityManager.flush();
+        this.entityManager.clear();
+        return count;
+    }
+}
@@ -0,0 +1,45 @@
+package com.jmiranda.academy.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Holder of the {@link MeterRegistry} used by the instrumented decorators of the solutions, which are plain objects
+ * created outside of the Spring context, or published as beans by the configurations of the solutions.
+ * <p>
+ * The registry is bound by {@link MetricsConfiguration} when {@code academy.metrics.enabled} is true. A bean that is
+ * instrumented when it is created must depend on {@link #BINDING_BEAN}, so the registry is bound first. While nothing is
+ * bound, metrics are disabled: the decorators' {@code instrument} methods return the object they are given unchanged,
+ * so the hot paths don't pay anything, not even a check. A decorator created while metrics were enabled keeps its
+ * meters, turning the metrics off only applies to the objects instrumented afterwards.
+ */
+public final class AcademyMetrics {
+
+    /**
+     * Name of the bean binding the registry, to use in {@code @DependsOn}. It exists whether metrics are enabled or not.
+     */
+    public static final String BINDING_BEAN = "academyMetricsBinding";
+
+    private static volatile MeterRegistry registry;
+
+    private AcademyMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return registry != null;
+    }
+
+    /**
+     * The bound registry, or null when metrics are disabled.
+     */
+    public static MeterRegistry registry() {
+        return registry;
+    }
+
+    public static void bind(MeterRegistry meterRegistry) {
+        registry = meterRegistry;
+    }
+
+    public static void unbind() {
+        registry = null;
+    }
+}
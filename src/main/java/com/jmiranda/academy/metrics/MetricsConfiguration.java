@@ -0,0 +1,30 @@
+package com.jmiranda.academy.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Binds the registry of the application (scraped on /actuator/prometheus) to {@link AcademyMetrics}. Setting
+ * {@code academy.metrics.enabled=false} leaves it unbound, and the solutions run without any instrumentation. The
+ * configuration exists either way, so the instrumented beans can always depend on it, and it is excluded from the lazy
+ * initialization of the fast-startup profile.
+ */
+@Configuration(value = AcademyMetrics.BINDING_BEAN, proxyBeanMethods = false)
+@Lazy(false)
+class MetricsConfiguration {
+
+    MetricsConfiguration(MeterRegistry meterRegistry, @Value("${academy.metrics.enabled:true}") boolean enabled) {
+        if (enabled) {
+            AcademyMetrics.bind(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void unbind() {
+        AcademyMetrics.unbind();
+    }
+}
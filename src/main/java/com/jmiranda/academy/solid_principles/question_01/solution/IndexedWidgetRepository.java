@@ -0,0 +1,107 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Storage mode of the {@link WidgetRepository} backed by a concurrent hash index instead of a list.
+ * <p>
+ * The widgets are indexed by their case-folded name, so {@link #getWidgetByName(String)} is a constant-time hash lookup
+ * rather than a scan of every widget with equalsIgnoreCase. The index is a {@link ConcurrentHashMap}, readers never lock
+ * and can run alongside the writers.
+ * <p>
+ * Since the name is the key of the index, the names are unique (ignoring case) inside this repository. Renames must go
+ * through {@link WidgetOperations#changeWidgetName(Widget, String)} built with this repository, otherwise the index
+ * would keep pointing to the old name.
+ * <p>
+ * Secondary indexes ({@link WidgetIndex}), like the {@link SortedWidgetNameIndex} for prefix and range queries, can be
+ * registered next to the primary index and are maintained on every add, remove and rename.
+ */
+class IndexedWidgetRepository extends WidgetRepository {
+
+    private final ConcurrentMap<String, Widget> widgetsByName = new ConcurrentHashMap<>();
+    private final List<WidgetIndex> secondaryIndexes = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a secondary index and fills it with the widgets already stored. Indexes are expected to be registered
+     * before the repository is shared with writer threads.
+     */
+    <T extends WidgetIndex> T addIndex(T index) {
+        this.widgetsByName.forEach(index::onAdd);
+        this.secondaryIndexes.add(index);
+        return index;
+    }
+
+    @Override
+    void addWidget(Widget widget) {
+        synchronized (widget) {
+            String key = foldCase(widget.getName());
+            Widget current = this.widgetsByName.putIfAbsent(key, widget);
+            if (current != null && current != widget) {
+                throw new IllegalArgumentException("A widget named '" + widget.getName() + "' already exists");
+            }
+            if (current == null) {
+                this.secondaryIndexes.forEach(index -> index.onAdd(key, widget));
+            }
+        }
+    }
+
+    @Override
+    Widget getWidgetByName(String name) {
+        Widget widget = this.widgetsByName.get(foldCase(name));
+        if (widget == null) {
+            throw new NoSuchElementException();
+        }
+        return widget;
+    }
+
+    @Override
+    void removeWidget(Widget widget) {
+        synchronized (widget) {
+            String key = foldCase(widget.getName());
+            if (this.widgetsByName.remove(key, widget)) {
+                this.secondaryIndexes.forEach(index -> index.onRemove(key, widget));
+            }
+        }
+    }
+
+    /**
+     * The new name is reserved in the index before the widget is renamed and the old entry is removed afterwards, so
+     * concurrent readers find the widget under one name or the other, never under none.
+     */
+    @Override
+    void renameWidget(Widget widget, String name) {
+        synchronized (widget) {
+            String oldKey = foldCase(widget.getName());
+            String newKey = foldCase(name);
+            if (this.widgetsByName.get(oldKey) != widget || oldKey.equals(newKey)) {
+                widget.setName(name);
+                return;
+            }
+            Widget current = this.widgetsByName.putIfAbsent(newKey, widget);
+            if (current != null && current != widget) {
+                throw new IllegalArgumentException("A widget named '" + name + "' already exists");
+            }
+            this.secondaryIndexes.forEach(index -> index.onAdd(newKey, widget));
+            widget.setName(name);
+            this.widgetsByName.remove(oldKey, widget);
+            this.secondaryIndexes.forEach(index -> index.onRemove(oldKey, widget));
+        }
+    }
+
+    int size() {
+        return this.widgetsByName.size();
+    }
+
+    /**
+     * Case folding equivalent to {@link String#equalsIgnoreCase(String)}, which compares both the upper and lower case
+     * of every character.
+     */
+    static String foldCase(String name) {
+        return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,93 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+import com.jmiranda.academy.metrics.AcademyMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WidgetRepository} decorator timing the add, get and remove operations (academy.widgets, tagged by operation
+ * and by the class of the decorated repository) and counting the lookups that found nothing. The meters are created
+ * once, recording a call is two {@link System#nanoTime()} and a {@link Timer#record(long, TimeUnit)}.
+ */
+class InstrumentedWidgetRepository extends WidgetRepository {
+
+    private final WidgetRepository delegate;
+    private final Timer addTimer;
+    private final Timer getTimer;
+    private final Timer removeTimer;
+    private final Counter missCounter;
+
+    private InstrumentedWidgetRepository(WidgetRepository delegate, MeterRegistry registry) {
+        String repository = delegate.getClass().getSimpleName();
+        this.delegate = delegate;
+        this.addTimer = timer(registry, repository, "add");
+        this.getTimer = timer(registry, repository, "get");
+        this.removeTimer = timer(registry, repository, "remove");
+        this.missCounter = Counter.builder("academy.widgets.misses")
+                .description("Lookups by name that found no widget")
+                .tag("repository", repository)
+                .register(registry);
+    }
+
+    /**
+     * Returns the repository itself when metrics are disabled.
+     */
+    static WidgetRepository instrument(WidgetRepository repository) {
+        MeterRegistry registry = AcademyMetrics.registry();
+        if (registry == null || repository instanceof InstrumentedWidgetRepository) {
+            return repository;
+        }
+        return new InstrumentedWidgetRepository(repository, registry);
+    }
+
+    @Override
+    void addWidget(Widget widget) {
+        long start = System.nanoTime();
+        try {
+            this.delegate.addWidget(widget);
+        } finally {
+            this.addTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    Widget getWidgetByName(String name) {
+        long start = System.nanoTime();
+        try {
+            return this.delegate.getWidgetByName(name);
+        } catch (NoSuchElementException e) {
+            this.missCounter.increment();
+            throw e;
+        } finally {
+            this.getTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    void removeWidget(Widget widget) {
+        long start = System.nanoTime();
+        try {
+            this.delegate.removeWidget(widget);
+        } finally {
+            this.removeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    void renameWidget(Widget widget, String name) {
+        this.delegate.renameWidget(widget, name);
+    }
+
+    private static Timer timer(MeterRegistry registry, String repository, String operation) {
+        return Timer.builder("academy.widgets")
+                .description("Operations on the widget repository")
+                .tag("repository", repository)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
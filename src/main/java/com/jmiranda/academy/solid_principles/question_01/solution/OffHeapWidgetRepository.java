@@ -0,0 +1,52 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+/**
+ * {@link WidgetRepository} API over an {@link OffHeapWidgetStore}, the off-heap storage mode of the application.
+ * <p>
+ * The store doesn't keep {@link Widget} instances, so the widgets are values here, identified by their name:
+ * {@link #getWidgetByName(String)} returns a new widget on every call, and removing or renaming a widget applies to the
+ * first stored widget with exactly its name. Code relying on getting back the instance it added needs another storage
+ * mode.
+ */
+class OffHeapWidgetRepository extends WidgetRepository {
+
+    private final OffHeapWidgetStore store;
+
+    OffHeapWidgetRepository() {
+        this(new OffHeapWidgetStore());
+    }
+
+    OffHeapWidgetRepository(OffHeapWidgetStore store) {
+        this.store = store;
+    }
+
+    @Override
+    void addWidget(Widget widget) {
+        this.store.addWidget(widget.getName());
+    }
+
+    @Override
+    Widget getWidgetByName(String name) {
+        return new Widget(this.store.getStoredName(name));
+    }
+
+    /**
+     * Like the list repository, removing a widget that isn't stored does nothing.
+     */
+    @Override
+    void removeWidget(Widget widget) {
+        this.store.removeWidgetNamed(widget.getName());
+    }
+
+    @Override
+    void renameWidget(Widget widget, String name) {
+        synchronized (widget) {
+            this.store.renameWidgetNamed(widget.getName(), name);
+            widget.setName(name);
+        }
+    }
+
+    int size() {
+        return this.store.size();
+    }
+}
@@ -0,0 +1,622 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Storage mode for very large numbers of widgets, which keeps them out of the heap objects of the {@link WidgetRepository}.
+ * <p>
+ * A widget isn't a {@link Widget} instance here, but an int handle. The names are stored once in an off-heap arena (a
+ * direct {@link ByteBuffer}) as UTF-8 and shared by every widget with the same name, with a reference count. The tables
+ * of ints describing them are direct buffers as well: per name its offset, length, hash, reference count and the ends of
+ * the list of the widgets sharing it, per widget its name and its links in that list. That is 12 bytes off-heap per
+ * widget, plus 24 bytes per distinct name and 8 to 16 bytes of index slots per name, before the slack of the tables,
+ * which grow by doubling. The heap only holds the store and a dozen buffer objects whatever the number of widgets,
+ * where the other storage modes keep a {@link Widget} and a {@link String} per widget for the GC to walk. {@link #toWidget(int)}
+ * builds a {@link Widget} when one is needed, the handles themselves are the flyweights. The
+ * {@link OffHeapWidgetRepository} serves the store through the {@link WidgetRepository} API.
+ * <p>
+ * The names are indexed by an open-addressing hash table of name ids, hashed on the case-folded characters, so
+ * {@link #getWidgetByName(String)} ignores case like the other storage modes, without allocating. Identical names are
+ * deduplicated, names differing only in case are stored separately. The arena is compacted when it grows, dropping the
+ * names no widget uses anymore.
+ * <p>
+ * Lone surrogates are encoded as three bytes (like WTF-8), so any Java string is stored without loss. The lookups run
+ * concurrently under a read lock, the writes take the write lock. Handles are reused after {@link #removeWidget(int)}.
+ */
+class OffHeapWidgetStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int INITIAL_ARENA_SIZE = 64 * 1024;
+    private static final int MAX_ARENA_SIZE = Integer.MAX_VALUE - 8;
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+    private static final int NONE = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ByteBuffer arena = ByteBuffer.allocateDirect(INITIAL_ARENA_SIZE);
+    private int arenaEnd;
+    private int garbageBytes;
+
+    // Names, by name id. A free name id has no reference, and its head links to the next free name id.
+    private IntArray nameOffsets = new IntArray(INITIAL_CAPACITY);
+    private IntArray nameLengths = new IntArray(INITIAL_CAPACITY);
+    private IntArray nameHashes = new IntArray(INITIAL_CAPACITY);
+    private IntArray nameReferences = new IntArray(INITIAL_CAPACITY);
+    private IntArray nameHeads = new IntArray(INITIAL_CAPACITY);
+    private IntArray nameTails = new IntArray(INITIAL_CAPACITY);
+    private int nameCount;
+    private int freeName = NONE;
+    private int liveNames;
+
+    // Hash index: name id + 1, EMPTY or DELETED.
+    private IntArray slots = new IntArray(INITIAL_CAPACITY * 2);
+    private int deletedSlots;
+
+    // Widgets, by handle. A free handle has no name, and its next links to the next free handle.
+    private IntArray widgetNames = new IntArray(INITIAL_CAPACITY);
+    private IntArray widgetPrevious = new IntArray(INITIAL_CAPACITY);
+    private IntArray widgetNext = new IntArray(INITIAL_CAPACITY);
+    private int widgetCount;
+    private int freeWidget = NONE;
+    private int liveWidgets;
+
+    int addWidget(String name) {
+        Objects.requireNonNull(name);
+        this.lock.writeLock().lock();
+        try {
+            int handle = newHandle();
+            link(handle, intern(name));
+            this.liveWidgets++;
+            return handle;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Handle of the first widget added with the given name, ignoring case. When several names differ only in case, the
+     * widget can have any of them.
+     */
+    int getWidgetByName(String name) {
+        Objects.requireNonNull(name);
+        this.lock.readLock().lock();
+        try {
+            int nameId = find(name, true);
+            if (nameId == NONE) {
+                throw new NoSuchElementException();
+            }
+            return this.nameHeads.get(nameId);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stored name of the widget {@link #getWidgetByName(String)} would return, read under the same lock.
+     */
+    String getStoredName(String name) {
+        Objects.requireNonNull(name);
+        this.lock.readLock().lock();
+        try {
+            int nameId = find(name, true);
+            if (nameId == NONE) {
+                throw new NoSuchElementException();
+            }
+            return decode(nameId);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    String getName(int handle) {
+        this.lock.readLock().lock();
+        try {
+            return decode(nameOf(handle));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    void renameWidget(int handle, String name) {
+        Objects.requireNonNull(name);
+        this.lock.writeLock().lock();
+        try {
+            int oldName = nameOf(handle);
+            // Interned first, so renaming a widget to its own name doesn't free the name on the way.
+            int newName = intern(name);
+            unlink(handle, oldName);
+            release(oldName);
+            link(handle, newName);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    void removeWidget(int handle) {
+        this.lock.writeLock().lock();
+        try {
+            int nameId = nameOf(handle);
+            unlink(handle, nameId);
+            release(nameId);
+            this.widgetNames.set(handle, NONE);
+            this.widgetNext.set(handle, this.freeWidget);
+            this.freeWidget = handle;
+            this.liveWidgets--;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the first widget added with exactly the given name, and returns false when there is none.
+     */
+    boolean removeWidgetNamed(String name) {
+        Objects.requireNonNull(name);
+        this.lock.writeLock().lock();
+        try {
+            int nameId = find(name, false);
+            if (nameId == NONE) {
+                return false;
+            }
+            removeWidget(this.nameHeads.get(nameId));
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Renames the first widget added with exactly the given name, and returns false when there is none.
+     */
+    boolean renameWidgetNamed(String name, String newName) {
+        Objects.requireNonNull(name);
+        this.lock.writeLock().lock();
+        try {
+            int nameId = find(name, false);
+            if (nameId == NONE) {
+                return false;
+            }
+            renameWidget(this.nameHeads.get(nameId), newName);
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A heap {@link Widget} with the name of the handle, for the code working with widgets. It isn't tied to the store,
+     * renaming it doesn't rename the handle.
+     */
+    Widget toWidget(int handle) {
+        return new Widget(getName(handle));
+    }
+
+    int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.liveWidgets;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct names stored.
+     */
+    int nameCount() {
+        this.lock.readLock().lock();
+        try {
+            return this.liveNames;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes reserved off-heap for the names, live or not yet compacted.
+     */
+    int arenaCapacity() {
+        this.lock.readLock().lock();
+        try {
+            return this.arena.capacity();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Id of the stored name equal to the given one, ignoring case or not, or {@link #NONE}.
+     */
+    private int find(String name, boolean ignoreCase) {
+        int hash = hash(name);
+        int mask = this.slots.length() - 1;
+        for (int slot = spread(hash) & mask; this.slots.get(slot) != EMPTY; slot = (slot + 1) & mask) {
+            int nameId = this.slots.get(slot) - 1;
+            if (nameId >= 0 && this.nameHashes.get(nameId) == hash && matches(nameId, name, ignoreCase)) {
+                return nameId;
+            }
+        }
+        return NONE;
+    }
+
+    private int nameOf(int handle) {
+        if (handle < 0 || handle >= this.widgetCount || this.widgetNames.get(handle) == NONE) {
+            throw new IllegalArgumentException("Unknown widget handle: " + handle);
+        }
+        return this.widgetNames.get(handle);
+    }
+
+    private int newHandle() {
+        if (this.freeWidget != NONE) {
+            int handle = this.freeWidget;
+            this.freeWidget = this.widgetNext.get(handle);
+            return handle;
+        }
+        if (this.widgetCount == this.widgetNames.length()) {
+            int capacity = grow(this.widgetNames.length());
+            this.widgetNames = this.widgetNames.copyOf(capacity);
+            this.widgetPrevious = this.widgetPrevious.copyOf(capacity);
+            this.widgetNext = this.widgetNext.copyOf(capacity);
+        }
+        return this.widgetCount++;
+    }
+
+    /**
+     * Appends the widget to the list of its name, so the head is always the oldest widget with that name.
+     */
+    private void link(int handle, int nameId) {
+        this.widgetNames.set(handle, nameId);
+        this.widgetNext.set(handle, NONE);
+        this.widgetPrevious.set(handle, this.nameTails.get(nameId));
+        if (this.nameTails.get(nameId) == NONE) {
+            this.nameHeads.set(nameId, handle);
+        } else {
+            this.widgetNext.set(this.nameTails.get(nameId), handle);
+        }
+        this.nameTails.set(nameId, handle);
+    }
+
+    private void unlink(int handle, int nameId) {
+        int previous = this.widgetPrevious.get(handle);
+        int next = this.widgetNext.get(handle);
+        if (previous == NONE) {
+            this.nameHeads.set(nameId, next);
+        } else {
+            this.widgetNext.set(previous, next);
+        }
+        if (next == NONE) {
+            this.nameTails.set(nameId, previous);
+        } else {
+            this.widgetPrevious.set(next, previous);
+        }
+    }
+
+    /**
+     * Id of the name, stored in the arena and the index if it isn't yet, with one more reference.
+     */
+    private int intern(String name) {
+        int hash = hash(name);
+        int mask = this.slots.length() - 1;
+        int length = utf8Length(name);
+        int firstDeleted = NONE;
+        int slot = spread(hash) & mask;
+        for (; this.slots.get(slot) != EMPTY; slot = (slot + 1) & mask) {
+            int nameId = this.slots.get(slot) - 1;
+            if (nameId < 0) {
+                if (firstDeleted == NONE) {
+                    firstDeleted = slot;
+                }
+            } else if (this.nameHashes.get(nameId) == hash && this.nameLengths.get(nameId) == length && matches(nameId, name, false)) {
+                this.nameReferences.set(nameId, this.nameReferences.get(nameId) + 1);
+                return nameId;
+            }
+        }
+
+        int nameId = newNameId();
+        reserveArena(length);
+        this.nameOffsets.set(nameId, this.arenaEnd);
+        this.nameLengths.set(nameId, length);
+        this.nameHashes.set(nameId, hash);
+        this.nameReferences.set(nameId, 1);
+        this.nameHeads.set(nameId, NONE);
+        this.nameTails.set(nameId, NONE);
+        encode(name, this.arenaEnd);
+        this.arenaEnd += length;
+        this.liveNames++;
+
+        if (firstDeleted != NONE) {
+            slot = firstDeleted;
+            this.deletedSlots--;
+        }
+        this.slots.set(slot, nameId + 1);
+        if ((this.liveNames + this.deletedSlots) * 2 > this.slots.length()) {
+            rehash();
+        }
+        return nameId;
+    }
+
+    /**
+     * Drops a reference to the name, and the name itself when no widget uses it anymore. Its bytes stay in the arena
+     * until the next compaction.
+     */
+    private void release(int nameId) {
+        int references = this.nameReferences.get(nameId) - 1;
+        this.nameReferences.set(nameId, references);
+        if (references > 0) {
+            return;
+        }
+        int mask = this.slots.length() - 1;
+        int slot = spread(this.nameHashes.get(nameId)) & mask;
+        while (this.slots.get(slot) != nameId + 1) {
+            slot = (slot + 1) & mask;
+        }
+        this.slots.set(slot, DELETED);
+        this.deletedSlots++;
+        this.garbageBytes += this.nameLengths.get(nameId);
+        this.nameHeads.set(nameId, this.freeName);
+        this.freeName = nameId;
+        this.liveNames--;
+    }
+
+    private int newNameId() {
+        if (this.freeName != NONE) {
+            int nameId = this.freeName;
+            this.freeName = this.nameHeads.get(nameId);
+            return nameId;
+        }
+        if (this.nameCount == this.nameOffsets.length()) {
+            int capacity = grow(this.nameOffsets.length());
+            this.nameOffsets = this.nameOffsets.copyOf(capacity);
+            this.nameLengths = this.nameLengths.copyOf(capacity);
+            this.nameHashes = this.nameHashes.copyOf(capacity);
+            this.nameReferences = this.nameReferences.copyOf(capacity);
+            this.nameHeads = this.nameHeads.copyOf(capacity);
+            this.nameTails = this.nameTails.copyOf(capacity);
+        }
+        return this.nameCount++;
+    }
+
+    /**
+     * Rebuilds the index without the deleted slots, twice as large when the live names fill more than a quarter of it.
+     */
+    private void rehash() {
+        int capacity = this.liveNames * 4 > this.slots.length() ? grow(this.slots.length()) : this.slots.length();
+        IntArray newSlots = new IntArray(capacity);
+        int mask = capacity - 1;
+        for (int nameId = 0; nameId < this.nameCount; nameId++) {
+            if (this.nameReferences.get(nameId) > 0) {
+                int slot = spread(this.nameHashes.get(nameId)) & mask;
+                while (newSlots.get(slot) != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                newSlots.set(slot, nameId + 1);
+            }
+        }
+        this.slots = newSlots;
+        this.deletedSlots = 0;
+    }
+
+    /**
+     * Makes room for the given number of bytes at the end of the arena. A full arena is replaced by one twice the size
+     * of its live names, where only the live names are copied.
+     */
+    private void reserveArena(int bytes) {
+        if (bytes <= this.arena.capacity() - this.arenaEnd) {
+            return;
+        }
+        long needed = (long) this.arenaEnd - this.garbageBytes + bytes;
+        if (needed > MAX_ARENA_SIZE) {
+            throw new IllegalStateException("The name arena is full");
+        }
+        ByteBuffer newArena = ByteBuffer.allocateDirect((int) Math.min(Math.max(needed * 2, INITIAL_ARENA_SIZE), MAX_ARENA_SIZE));
+        ByteBuffer source = this.arena.duplicate();
+        for (int nameId = 0; nameId < this.nameCount; nameId++) {
+            if (this.nameReferences.get(nameId) > 0) {
+                int offset = this.nameOffsets.get(nameId);
+                source.limit(offset + this.nameLengths.get(nameId)).position(offset);
+                this.nameOffsets.set(nameId, newArena.position());
+                newArena.put(source);
+            }
+        }
+        this.arena = newArena;
+        this.arenaEnd = newArena.position();
+        this.garbageBytes = 0;
+    }
+
+    /**
+     * Compares the stored name with the given one, ignoring case or not, without decoding it into a string.
+     */
+    private boolean matches(int nameId, String name, boolean ignoreCase) {
+        int position = this.nameOffsets.get(nameId);
+        int end = position + this.nameLengths.get(nameId);
+        int length = name.length();
+        int i = 0;
+        while (position < end) {
+            int first = this.arena.get(position) & 0xFF;
+            int codePoint;
+            if (first < 0x80) {
+                codePoint = first;
+                position += 1;
+            } else if (first < 0xE0) {
+                codePoint = (first & 0x1F) << 6 | this.arena.get(position + 1) & 0x3F;
+                position += 2;
+            } else if (first < 0xF0) {
+                codePoint = (first & 0x0F) << 12 | (this.arena.get(position + 1) & 0x3F) << 6
+                        | this.arena.get(position + 2) & 0x3F;
+                position += 3;
+            } else {
+                codePoint = (first & 0x07) << 18 | (this.arena.get(position + 1) & 0x3F) << 12
+                        | (this.arena.get(position + 2) & 0x3F) << 6 | this.arena.get(position + 3) & 0x3F;
+                position += 4;
+            }
+            if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                if (i + 2 > length
+                        || !sameChar(Character.highSurrogate(codePoint), name.charAt(i), ignoreCase)
+                        || !sameChar(Character.lowSurrogate(codePoint), name.charAt(i + 1), ignoreCase)) {
+                    return false;
+                }
+                i += 2;
+            } else if (i >= length || !sameChar((char) codePoint, name.charAt(i++), ignoreCase)) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private String decode(int nameId) {
+        byte[] bytes = new byte[this.nameLengths.get(nameId)];
+        ByteBuffer source = this.arena.duplicate();
+        source.position(this.nameOffsets.get(nameId));
+        source.get(bytes);
+        if (!hasLoneSurrogate(bytes)) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        StringBuilder name = new StringBuilder(bytes.length);
+        for (int position = 0; position < bytes.length; ) {
+            int first = bytes[position] & 0xFF;
+            if (first < 0x80) {
+                name.append((char) first);
+                position += 1;
+            } else if (first < 0xE0) {
+                name.append((char) ((first & 0x1F) << 6 | bytes[position + 1] & 0x3F));
+                position += 2;
+            } else if (first < 0xF0) {
+                name.append((char) ((first & 0x0F) << 12 | (bytes[position + 1] & 0x3F) << 6 | bytes[position + 2] & 0x3F));
+                position += 3;
+            } else {
+                name.appendCodePoint((first & 0x07) << 18 | (bytes[position + 1] & 0x3F) << 12
+                        | (bytes[position + 2] & 0x3F) << 6 | bytes[position + 3] & 0x3F);
+                position += 4;
+            }
+        }
+        return name.toString();
+    }
+
+    private void encode(String name, int position) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x80) {
+                this.arena.put(position++, (byte) c);
+            } else if (c < 0x800) {
+                this.arena.put(position++, (byte) (0xC0 | c >> 6));
+                this.arena.put(position++, (byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < name.length() && Character.isLowSurrogate(name.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, name.charAt(++i));
+                this.arena.put(position++, (byte) (0xF0 | codePoint >> 18));
+                this.arena.put(position++, (byte) (0x80 | codePoint >> 12 & 0x3F));
+                this.arena.put(position++, (byte) (0x80 | codePoint >> 6 & 0x3F));
+                this.arena.put(position++, (byte) (0x80 | codePoint & 0x3F));
+            } else {
+                this.arena.put(position++, (byte) (0xE0 | c >> 12));
+                this.arena.put(position++, (byte) (0x80 | c >> 6 & 0x3F));
+                this.arena.put(position++, (byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(String name) {
+        int length = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < name.length() && Character.isLowSurrogate(name.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Whether the bytes hold a surrogate encoded on its own (0xED 0xA0-0xBF), which the UTF-8 decoder would replace.
+     */
+    private static boolean hasLoneSurrogate(byte[] bytes) {
+        for (int i = 0; i + 1 < bytes.length; i++) {
+            if (bytes[i] == (byte) 0xED && (bytes[i + 1] & 0xE0) == 0xA0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hash of the case-folded characters: two names equal ignoring case always have the same hash.
+     */
+    private static int hash(String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + foldCase(name.charAt(i));
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+
+    /**
+     * Folds a character the way {@link String#equalsIgnoreCase(String)} compares them, through its upper then lower case.
+     */
+    private static char foldCase(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static boolean sameChar(char stored, char given, boolean ignoreCase) {
+        return stored == given || ignoreCase && foldCase(stored) == foldCase(given);
+    }
+
+    /**
+     * Fixed length array of ints in a direct buffer, zeroed when it is allocated.
+     */
+    private static final class IntArray {
+
+        private final ByteBuffer buffer;
+
+        IntArray(int length) {
+            if (length > Integer.MAX_VALUE / Integer.BYTES) {
+                throw new IllegalStateException("The widget store is full");
+            }
+            this.buffer = ByteBuffer.allocateDirect(length * Integer.BYTES).order(ByteOrder.nativeOrder());
+        }
+
+        int get(int index) {
+            return this.buffer.getInt(index * Integer.BYTES);
+        }
+
+        void set(int index, int value) {
+            this.buffer.putInt(index * Integer.BYTES, value);
+        }
+
+        int length() {
+            return this.buffer.capacity() / Integer.BYTES;
+        }
+
+        /**
+         * A longer array starting with the ints of this one.
+         */
+        IntArray copyOf(int length) {
+            IntArray copy = new IntArray(length);
+            copy.buffer.duplicate().put(this.buffer.duplicate().clear());
+            return copy;
+        }
+    }
+
+    private static int grow(int capacity) {
+        if (capacity > Integer.MAX_VALUE / 2 - 8) {
+            throw new IllegalStateException("The widget store is full");
+        }
+        return capacity * 2;
+    }
+}
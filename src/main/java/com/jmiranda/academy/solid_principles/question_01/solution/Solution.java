@@ -1,5 +1,12 @@
 package com.jmiranda.academy.solid_principles.question_01.solution;
 
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -34,7 +41,7 @@ public class Solution {
  */
 class WidgetRepository {
 
-    private List<Widget> widgetList;
+    private final List<Widget> widgetList = new ArrayList<>();
 
     void addWidget(Widget widget) {
         this.widgetList.add(widget);
@@ -51,6 +58,15 @@ class WidgetRepository {
     void removeWidget(Widget widget) {
         this.widgetList.remove(widget);
     }
+
+    /**
+     * Renames a widget held by this repository. The list based repository doesn't keep any index on the name, so it only
+     * has to update the widget, but other storage modes (like {@link IndexedWidgetRepository}) override it to keep their
+     * indexes consistent.
+     */
+    void renameWidget(Widget widget, String name) {
+        widget.setName(name);
+    }
 }
 
 /**
@@ -68,22 +84,59 @@ class WidgetFactory {
  * Because it's actually an operation on a widget. And if we had other operations, we could again, add them to this {@link WidgetOperations} class.
  */
 class WidgetOperations {
+
+    private final WidgetRepository widgetRepository;
+
+    WidgetOperations() {
+        this(null);
+    }
+
+    /**
+     * When the widget lives in a repository, the rename goes through it, so the repository can keep its indexes up to date.
+     */
+    WidgetOperations(WidgetRepository widgetRepository) {
+        this.widgetRepository = widgetRepository;
+    }
+
     void changeWidgetName(Widget widget, String name) {
-        widget.setName(name);
+        if (this.widgetRepository == null) {
+            widget.setName(name);
+            return;
+        }
+        this.widgetRepository.renameWidget(widget, name);
     }
 }
 
 /**
- * Simple POJO class.
+ * Simple POJO class, also stored as a JPA entity. The ids are taken from a database sequence by blocks, so inserting
+ * widgets doesn't need a round trip per id and the inserts can be batched.
  */
+@Entity
+@Table(name = "widgets")
 class Widget {
 
-    private String name;
+    static final int ID_ALLOCATION_SIZE = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "widget_sequence")
+    @SequenceGenerator(name = "widget_sequence", sequenceName = "widget_sequence", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    // volatile, so readers of a concurrent repository always see the latest name after a rename.
+    private volatile String name;
+
+    // Required by JPA.
+    protected Widget() {
+    }
 
     Widget(String name) {
         this.name = name;
     }
 
+    Long getId() {
+        return id;
+    }
+
     String getName() {
         return name;
     }
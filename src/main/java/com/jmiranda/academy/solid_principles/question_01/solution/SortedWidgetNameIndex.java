@@ -0,0 +1,67 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Secondary index that keeps the widgets sorted by their case-folded name.
+ * <p>
+ * It is backed by a {@link ConcurrentSkipListMap}, so finding the start of a prefix or a range is O(log n) and then the
+ * k matching widgets are read in order, O(log n + k) in total instead of filtering every widget of the repository.
+ * The names passed to the queries are case-folded the same way the repository does it.
+ */
+class SortedWidgetNameIndex implements WidgetIndex {
+
+    private final ConcurrentSkipListMap<String, Widget> widgetsByName = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void onAdd(String key, Widget widget) {
+        this.widgetsByName.put(key, widget);
+    }
+
+    @Override
+    public void onRemove(String key, Widget widget) {
+        this.widgetsByName.remove(key, widget);
+    }
+
+    /**
+     * All the widgets whose name starts with the given prefix, ordered by name.
+     */
+    List<Widget> startingWith(String prefix) {
+        String from = IndexedWidgetRepository.foldCase(prefix);
+        return values(this.widgetsByName.subMap(from, true, from + Character.MAX_VALUE, false), Integer.MAX_VALUE);
+    }
+
+    /**
+     * All the widgets whose name is between {@code from} (inclusive) and {@code to} (exclusive), ordered by name.
+     */
+    List<Widget> between(String from, String to) {
+        return values(this.widgetsByName.subMap(IndexedWidgetRepository.foldCase(from), true,
+                IndexedWidgetRepository.foldCase(to), false), Integer.MAX_VALUE);
+    }
+
+    /**
+     * A page of at most {@code limit} widgets ordered by name, starting right after the name {@code after}, which is
+     * usually the name of the last widget of the previous page. A {@code null} name starts from the first widget.
+     */
+    List<Widget> page(String after, int limit) {
+        NavigableMap<String, Widget> tail = after == null
+                ? this.widgetsByName
+                : this.widgetsByName.tailMap(IndexedWidgetRepository.foldCase(after), false);
+        return values(tail, limit);
+    }
+
+    private static List<Widget> values(Map<String, Widget> widgets, int limit) {
+        List<Widget> result = new ArrayList<>(Math.min(limit, 16));
+        for (Widget widget : widgets.values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(widget);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+import com.jmiranda.academy.metrics.AcademyMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * Publishes the {@link WidgetRepository} of the application, in the {@link WidgetStorage} mode set by
+ * academy.widgets.storage (indexed by default) and instrumented when metrics are enabled.
+ */
+@Configuration(proxyBeanMethods = false)
+class WidgetConfiguration {
+
+    @Bean
+    @DependsOn(AcademyMetrics.BINDING_BEAN)
+    WidgetRepository widgetRepository(@Value("${academy.widgets.storage:indexed}") WidgetStorage storage) {
+        return InstrumentedWidgetRepository.instrument(storage.newRepository());
+    }
+}
@@ -0,0 +1,15 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+/**
+ * Secondary index maintained next to the primary store of the {@link IndexedWidgetRepository}.
+ * <p>
+ * The repository notifies every registered index when a widget is added, removed or renamed (a rename is a removal of the
+ * old key plus an addition of the new one), so the indexes are kept up to date incrementally and never have to be rebuilt.
+ * The key is the case-folded name of the widget, see {@link IndexedWidgetRepository#foldCase(String)}.
+ */
+interface WidgetIndex {
+
+    void onAdd(String key, Widget widget);
+
+    void onRemove(String key, Widget widget);
+}
@@ -0,0 +1,30 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+/**
+ * Storage modes of the widgets, chosen for the application by academy.widgets.storage (list, indexed or off-heap).
+ */
+enum WidgetStorage {
+    /**
+     * {@link WidgetRepository}: a list scanned on every lookup.
+     */
+    LIST,
+    /**
+     * {@link IndexedWidgetRepository}: a concurrent hash index on the case-folded names, names are unique.
+     */
+    INDEXED,
+    /**
+     * {@link OffHeapWidgetRepository}: the names stored once off-heap, for very large numbers of widgets.
+     */
+    OFF_HEAP;
+
+    WidgetRepository newRepository() {
+        switch (this) {
+            case LIST:
+                return new WidgetRepository();
+            case INDEXED:
+                return new IndexedWidgetRepository();
+            default:
+                return new OffHeapWidgetRepository();
+        }
+    }
+}
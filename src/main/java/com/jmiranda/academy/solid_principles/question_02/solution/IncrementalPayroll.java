@@ -0,0 +1,204 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Payroll that only recomputes what changed since the last run.
+ * <p>
+ * It keeps the salary of every employee from the previous run and tracks the employees that changed (hours, role, added
+ * or removed) and the roles whose rate changed in the {@link RateRegistry}. A {@link #run()} recomputes those salaries
+ * only and updates the totals by the difference with the previous salary, so a small change costs a small fraction of a
+ * full payroll.
+ * <p>
+ * The employees are identified by their index, which never changes: a removed employee keeps its index with a salary of
+ * zero, and new employees are added at the end.
+ * <p>
+ * Updating the totals by differences accumulates rounding errors over many runs, so the totals are recomputed from
+ * scratch every {@link #FULL_RUN_INTERVAL} runs, or when so many salaries changed that a full run is cheaper anyway.
+ */
+class IncrementalPayroll {
+
+    static final int FULL_RUN_INTERVAL = 64;
+
+    private final RateRegistry rateRegistry;
+
+    private int size;
+    private int[] hoursReported;
+    private int[] roles;
+    // The role each salary was added to, so a role change moves the salary from the total of the old role.
+    private int[] salaryRoles;
+    private double[] salaries;
+    private BitSet[] employeesByRole = new BitSet[0];
+    private final BitSet removed = new BitSet();
+    private final BitSet changed = new BitSet();
+    private double[] rates = new double[0];
+    private double[] totalsByRole = new double[0];
+    private double total;
+    private long rateVersion = -1;
+    private int runsSinceFullRun = FULL_RUN_INTERVAL;
+
+    IncrementalPayroll(PayrollBatch batch) {
+        this.rateRegistry = batch.getRateRegistry();
+        int capacity = Math.max(batch.size(), 16);
+        this.hoursReported = new int[capacity];
+        this.roles = new int[capacity];
+        this.salaryRoles = new int[capacity];
+        this.salaries = new double[capacity];
+        for (int i = 0; i < batch.size(); i++) {
+            addEmployee(batch.getHoursReported(i), batch.getRole(i));
+        }
+    }
+
+    /**
+     * Adds an employee with the given role code and returns its index.
+     */
+    synchronized int addEmployee(int hoursReported, int role) {
+        checkRole(role);
+        if (this.size == this.hoursReported.length) {
+            int capacity = this.size * 2;
+            this.hoursReported = Arrays.copyOf(this.hoursReported, capacity);
+            this.roles = Arrays.copyOf(this.roles, capacity);
+            this.salaryRoles = Arrays.copyOf(this.salaryRoles, capacity);
+            this.salaries = Arrays.copyOf(this.salaries, capacity);
+        }
+        int index = this.size++;
+        this.hoursReported[index] = hoursReported;
+        this.roles[index] = role;
+        this.salaryRoles[index] = role;
+        employeesOf(role).set(index);
+        this.changed.set(index);
+        return index;
+    }
+
+    synchronized void removeEmployee(int index) {
+        checkIndex(index);
+        if (!this.removed.get(index)) {
+            this.removed.set(index);
+            this.employeesByRole[this.roles[index]].clear(index);
+            this.changed.set(index);
+        }
+    }
+
+    synchronized void setHoursReported(int index, int hoursReported) {
+        checkIndex(index);
+        if (this.hoursReported[index] != hoursReported) {
+            this.hoursReported[index] = hoursReported;
+            this.changed.set(index);
+        }
+    }
+
+    synchronized void setRole(int index, int role) {
+        checkIndex(index);
+        checkRole(role);
+        if (this.roles[index] != role) {
+            if (!this.removed.get(index)) {
+                this.employeesByRole[this.roles[index]].clear(index);
+                employeesOf(role).set(index);
+            }
+            this.roles[index] = role;
+            this.changed.set(index);
+        }
+    }
+
+    /**
+     * Brings the salaries and totals up to date with the employees and rates, and returns how many salaries were
+     * recomputed.
+     */
+    synchronized int run() {
+        RateTable rateTable = this.rateRegistry.snapshot();
+        if (rateTable.version() != this.rateVersion) {
+            markChangedRates(rateTable.rates());
+            this.rateVersion = rateTable.version();
+        }
+        int changedCount = this.changed.cardinality();
+        if (changedCount == 0) {
+            return 0;
+        }
+        if (++this.runsSinceFullRun >= FULL_RUN_INTERVAL || changedCount > this.size / 4) {
+            runFull();
+            return this.size;
+        }
+        for (int i = this.changed.nextSetBit(0); i >= 0; i = this.changed.nextSetBit(i + 1)) {
+            double salary = salaryOf(i);
+            this.totalsByRole[this.salaryRoles[i]] -= this.salaries[i];
+            this.totalsByRole[this.roles[i]] += salary;
+            this.total += salary - this.salaries[i];
+            this.salaries[i] = salary;
+            this.salaryRoles[i] = this.roles[i];
+        }
+        this.changed.clear();
+        return changedCount;
+    }
+
+    synchronized int size() {
+        return this.size;
+    }
+
+    synchronized double getSalary(int index) {
+        checkIndex(index);
+        return this.salaries[index];
+    }
+
+    synchronized double getTotalOfRole(int role) {
+        return role < this.totalsByRole.length ? this.totalsByRole[role] : 0.0d;
+    }
+
+    synchronized double getTotal() {
+        return this.total;
+    }
+
+    private double salaryOf(int index) {
+        return this.removed.get(index) ? 0.0d : this.hoursReported[index] * this.rates[this.roles[index]];
+    }
+
+    private BitSet employeesOf(int role) {
+        if (role >= this.employeesByRole.length) {
+            int length = this.employeesByRole.length;
+            this.employeesByRole = Arrays.copyOf(this.employeesByRole, role + 1);
+            for (int i = length; i <= role; i++) {
+                this.employeesByRole[i] = new BitSet();
+            }
+        }
+        return this.employeesByRole[role];
+    }
+
+    private void markChangedRates(double[] newRates) {
+        for (int role = 0; role < this.employeesByRole.length; role++) {
+            if (role >= this.rates.length || Double.compare(this.rates[role], newRates[role]) != 0) {
+                this.changed.or(this.employeesByRole[role]);
+            }
+        }
+        this.rates = newRates;
+        if (this.totalsByRole.length < newRates.length) {
+            this.totalsByRole = Arrays.copyOf(this.totalsByRole, newRates.length);
+        }
+    }
+
+    private void runFull() {
+        Arrays.fill(this.totalsByRole, 0.0d);
+        double newTotal = 0;
+        for (int i = 0; i < this.size; i++) {
+            double salary = salaryOf(i);
+            this.salaries[i] = salary;
+            this.salaryRoles[i] = this.roles[i];
+            this.totalsByRole[this.roles[i]] += salary;
+            newTotal += salary;
+        }
+        this.total = newTotal;
+        this.changed.clear();
+        this.runsSinceFullRun = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("No employee at index " + index);
+        }
+    }
+
+    private void checkRole(int role) {
+        if (role < 0 || role >= this.rateRegistry.snapshot().size()) {
+            throw new IllegalArgumentException("Unknown role code: " + role);
+        }
+    }
+}
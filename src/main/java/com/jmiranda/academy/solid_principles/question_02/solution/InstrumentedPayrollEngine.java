@@ -0,0 +1,54 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+import com.jmiranda.academy.metrics.AcademyMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PayrollEngine} decorator timing every payroll run (academy.payroll.runs) and recording how many employees it
+ * went through (academy.payroll.employees), which gives the salaries calculated per second.
+ */
+class InstrumentedPayrollEngine extends PayrollEngine {
+
+    private final PayrollEngine delegate;
+    private final Timer runTimer;
+    private final DistributionSummary employeesSummary;
+
+    private InstrumentedPayrollEngine(PayrollEngine delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.runTimer = Timer.builder("academy.payroll.runs")
+                .description("Payroll runs over a batch of employees")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.employeesSummary = DistributionSummary.builder("academy.payroll.employees")
+                .description("Employees per payroll run")
+                .baseUnit("employees")
+                .register(registry);
+    }
+
+    /**
+     * Returns the engine itself when metrics are disabled.
+     */
+    static PayrollEngine instrument(PayrollEngine engine) {
+        MeterRegistry registry = AcademyMetrics.registry();
+        if (registry == null || engine instanceof InstrumentedPayrollEngine) {
+            return engine;
+        }
+        return new InstrumentedPayrollEngine(engine, registry);
+    }
+
+    @Override
+    PayrollResult run(List<? extends Employee> employees) {
+        long start = System.nanoTime();
+        try {
+            return this.delegate.run(employees);
+        } finally {
+            this.runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            this.employeesSummary.record(employees.size());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columnar (structure of arrays) representation of a list of {@link Employee}.
+ * <p>
+ * Instead of walking one object per employee and dispatching to its calculateSalary, the hours reported are kept in an
+ * {@code int[]}, the role of every employee in an {@code int[]} of role codes, and the rates in a small table indexed by
+ * the role code. The salaries are then computed by tight loops over the primitive arrays, without any allocation or
+ * virtual call per employee, and with the same multiplication as the {@link Employee} classes, so the amounts are the same.
+ * <p>
+ * The role codes and the rates come from a {@link RateRegistry}. Every computation takes one snapshot of the registry,
+ * so a reload of the rates never changes the rates in the middle of a run.
+ * <p>
+ * {@link #fromEmployees(List)} and {@link #toEmployees()} convert from and to the existing classes.
+ */
+class PayrollBatch {
+
+    private final String[] fullNames;
+    private final int[] hoursReported;
+    private final int[] roles;
+    private final RateRegistry rateRegistry;
+
+    PayrollBatch(String[] fullNames, int[] hoursReported, int[] roles, RateRegistry rateRegistry) {
+        if (fullNames.length != hoursReported.length || fullNames.length != roles.length) {
+            throw new IllegalArgumentException("All the columns of the batch must have the same length");
+        }
+        this.fullNames = fullNames;
+        this.hoursReported = hoursReported;
+        this.roles = roles;
+        this.rateRegistry = rateRegistry;
+    }
+
+    /**
+     * The batch takes the registry of the employees, the default one for an empty list.
+     */
+    static PayrollBatch fromEmployees(List<? extends Employee> employees) {
+        return fromEmployees(employees, employees.isEmpty() ? RateRegistry.getDefault() : employees.get(0).getRateRegistry());
+    }
+
+    /**
+     * The employees must all be priced by the given registry, so the batch computes the same salaries as their
+     * {@link Employee#calculateSalary()}.
+     */
+    static PayrollBatch fromEmployees(List<? extends Employee> employees, RateRegistry rateRegistry) {
+        RateTable rateTable = rateRegistry.snapshot();
+        int size = employees.size();
+        String[] fullNames = new String[size];
+        int[] hoursReported = new int[size];
+        int[] roles = new int[size];
+        int i = 0;
+        for (Employee employee : employees) {
+            if (employee.getRateRegistry() != rateRegistry) {
+                throw new IllegalArgumentException(employee.getFullName() + " is priced by another rate registry");
+            }
+            fullNames[i] = employee.getFullName();
+            hoursReported[i] = employee.getHoursReported();
+            roles[i] = rateTable.codeOf(employee.getRole());
+            if (roles[i] < 0) {
+                throw new IllegalArgumentException("Unknown role: " + employee.getRole());
+            }
+            i++;
+        }
+        return new PayrollBatch(fullNames, hoursReported, roles, rateRegistry);
+    }
+
+    List<Employee> toEmployees() {
+        RateTable rateTable = this.rateRegistry.snapshot();
+        List<Employee> employees = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            employees.add(toEmployee(this.fullNames[i], this.hoursReported[i], this.roles[i], rateTable));
+        }
+        return employees;
+    }
+
+    int size() {
+        return this.hoursReported.length;
+    }
+
+    int getHoursReported(int index) {
+        return this.hoursReported[index];
+    }
+
+    int getRole(int index) {
+        return this.roles[index];
+    }
+
+    RateRegistry getRateRegistry() {
+        return this.rateRegistry;
+    }
+
+    /**
+     * Writes the salary of every employee in the given array, which must be at least as long as the batch.
+     */
+    void calculateSalaries(double[] salaries) {
+        final int[] hours = this.hoursReported;
+        final int[] codes = this.roles;
+        final double[] table = this.rateRegistry.snapshot().rates();
+        for (int i = 0; i < hours.length; i++) {
+            salaries[i] = hours[i] * table[codes[i]];
+        }
+    }
+
+    double totalSalary() {
+        final int[] hours = this.hoursReported;
+        final int[] codes = this.roles;
+        final double[] table = this.rateRegistry.snapshot().rates();
+        double total = 0;
+        for (int i = 0; i < hours.length; i++) {
+            total += hours[i] * table[codes[i]];
+        }
+        return total;
+    }
+
+    /**
+     * The total salary of every role, indexed by the role code.
+     */
+    double[] totalsByRole() {
+        final int[] hours = this.hoursReported;
+        final int[] codes = this.roles;
+        final double[] table = this.rateRegistry.snapshot().rates();
+        double[] totals = new double[table.length];
+        for (int i = 0; i < hours.length; i++) {
+            totals[codes[i]] += hours[i] * table[codes[i]];
+        }
+        return totals;
+    }
+
+    private Employee toEmployee(String fullName, int hoursReported, int role, RateTable rateTable) {
+        // The default roles go back to their own classes, any other role is an employee of the registry.
+        if (this.rateRegistry == RateRegistry.getDefault()) {
+            switch (role) {
+                case RateRegistry.JUNIOR:
+                    return new Junior(fullName, hoursReported);
+                case RateRegistry.SENIOR:
+                    return new Senior(fullName, hoursReported);
+                case RateRegistry.PRINCIPAL:
+                    return new Principal(fullName, hoursReported);
+            }
+        }
+        return new RoleEmployee(fullName, hoursReported, rateTable.roleOf(role), this.rateRegistry);
+    }
+}
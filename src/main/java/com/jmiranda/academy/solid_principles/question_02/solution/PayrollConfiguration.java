@@ -0,0 +1,20 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+import com.jmiranda.academy.metrics.AcademyMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * Publishes the {@link PayrollEngine} of the application, running on the common pool and instrumented when metrics are
+ * enabled.
+ */
+@Configuration(proxyBeanMethods = false)
+class PayrollConfiguration {
+
+    @Bean
+    @DependsOn(AcademyMetrics.BINDING_BEAN)
+    PayrollEngine payrollEngine() {
+        return InstrumentedPayrollEngine.instrument(new PayrollEngine());
+    }
+}
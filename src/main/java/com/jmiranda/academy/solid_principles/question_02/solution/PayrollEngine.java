@@ -0,0 +1,114 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Batch payroll over a collection of {@link Employee}. The employees are split in batches computed by the workers of a
+ * {@link ForkJoinPool}, every worker goes through the same {@link Employee#calculateSalary(RateTable)} as the
+ * single-threaded path. The rates of every registry are read once at the start of the run, a reload in the middle of it
+ * only applies to the next run.
+ * <p>
+ * The way the employees are split depends only on the number of employees and the batch size, never on the number of
+ * workers, and the partial totals are merged left to right. That keeps the per-employee amounts identical to calling
+ * {@link IPayroll#calculateSalary()} one by one, and the totals identical from one run to the other whatever the pool.
+ */
+class PayrollEngine {
+
+    static final int DEFAULT_BATCH_SIZE = 4096;
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    PayrollEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    PayrollEngine(ForkJoinPool pool, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    PayrollResult run(List<? extends Employee> employees) {
+        Employee[] batch = employees.toArray(new Employee[0]);
+        Map<RateRegistry, RateTable> snapshots = new IdentityHashMap<>();
+        for (Employee employee : batch) {
+            snapshots.computeIfAbsent(employee.getRateRegistry(), RateRegistry::snapshot);
+        }
+        double[] salaries = new double[batch.length];
+        Totals totals = this.pool.invoke(new PayrollTask(batch, snapshots, salaries, 0, batch.length, this.batchSize));
+
+        Map<String, Double> totalsByRole = new HashMap<>();
+        totals.byRole.forEach((role, total) -> totalsByRole.put(role, total[0]));
+        return new PayrollResult(salaries, totalsByRole, totals.total);
+    }
+
+    private static final class PayrollTask extends RecursiveTask<Totals> {
+
+        private final Employee[] employees;
+        private final Map<RateRegistry, RateTable> snapshots;
+        private final double[] salaries;
+        private final int from;
+        private final int to;
+        private final int batchSize;
+
+        PayrollTask(Employee[] employees, Map<RateRegistry, RateTable> snapshots, double[] salaries, int from, int to,
+                    int batchSize) {
+            this.employees = employees;
+            this.snapshots = snapshots;
+            this.salaries = salaries;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (this.to - this.from <= this.batchSize) {
+                return computeBatch();
+            }
+            int middle = (this.from + this.to) >>> 1;
+            PayrollTask left = new PayrollTask(this.employees, this.snapshots, this.salaries, this.from, middle, this.batchSize);
+            PayrollTask right = new PayrollTask(this.employees, this.snapshots, this.salaries, middle, this.to, this.batchSize);
+            left.fork();
+            Totals rightTotals = right.compute();
+            return left.join().merge(rightTotals);
+        }
+
+        private Totals computeBatch() {
+            Totals totals = new Totals();
+            for (int i = this.from; i < this.to; i++) {
+                Employee employee = this.employees[i];
+                double salary = employee.calculateSalary(this.snapshots.get(employee.getRateRegistry()));
+                this.salaries[i] = salary;
+                totals.add(employee.getRole(), salary);
+            }
+            return totals;
+        }
+    }
+
+    private static final class Totals {
+
+        // double[1] holders, so the amounts are added without boxing a Double per employee.
+        private final Map<String, double[]> byRole = new HashMap<>();
+        private double total;
+
+        void add(String role, double salary) {
+            this.byRole.computeIfAbsent(role, key -> new double[1])[0] += salary;
+            this.total += salary;
+        }
+
+        Totals merge(Totals right) {
+            right.byRole.forEach((role, total) -> this.byRole.computeIfAbsent(role, key -> new double[1])[0] += total[0]);
+            this.total += right.total;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Result of a {@link PayrollEngine} run. The salaries are in the same order as the employees given to the engine.
+ */
+class PayrollResult {
+
+    private final double[] salaries;
+    private final Map<String, Double> totalsByRole;
+    private final double total;
+
+    PayrollResult(double[] salaries, Map<String, Double> totalsByRole, double total) {
+        this.salaries = salaries;
+        this.totalsByRole = Collections.unmodifiableMap(totalsByRole);
+        this.total = total;
+    }
+
+    int size() {
+        return salaries.length;
+    }
+
+    double getSalary(int index) {
+        return salaries[index];
+    }
+
+    Map<String, Double> getTotalsByRole() {
+        return totalsByRole;
+    }
+
+    double getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,78 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registry of the hourly rate of every role, so the rates are data instead of being compiled into each {@link Employee}
+ * subclass.
+ * <p>
+ * The rates live in an immutable {@link RateTable} snapshot that is swapped atomically on every change. Reading a rate is
+ * a volatile read and an array access, without any lock. The payroll runs ({@link PayrollEngine}, {@link PayrollBatch})
+ * take one snapshot and price every employee with it through {@link Employee#calculateSalary(RateTable)}, so a reload
+ * never mixes old and new rates within a run, while {@link Employee#calculateSalary()} alone reads the current rates.
+ * <p>
+ * The role codes are never reused, a role keeps its code for the life of the registry, so new roles can be registered
+ * at runtime without a new {@link Employee} subclass (see {@link RoleEmployee}).
+ */
+class RateRegistry {
+
+    static final int JUNIOR = 0;
+    static final int SENIOR = 1;
+    static final int PRINCIPAL = 2;
+
+    private static final RateRegistry DEFAULT = new RateRegistry()
+            .setRate("Junior", 15.25)
+            .setRate("Senior", 17.50)
+            .setRate("Principal", 18.75);
+
+    private final AtomicReference<RateTable> current = new AtomicReference<>(RateTable.EMPTY);
+
+    /**
+     * The registry used by the {@link Junior}, {@link Senior} and {@link Principal} employees.
+     */
+    static RateRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    RateTable snapshot() {
+        return this.current.get();
+    }
+
+    double rateOf(int code) {
+        return this.current.get().rate(code);
+    }
+
+    double rateOf(String role) {
+        RateTable table = this.current.get();
+        return table.rate(table.codeOf(role));
+    }
+
+    /**
+     * Sets the rate of a role, registering it if it's new.
+     */
+    RateRegistry setRate(String role, double rate) {
+        RateTable table;
+        do {
+            table = this.current.get();
+        } while (!this.current.compareAndSet(table, table.withRate(role, rate)));
+        return this;
+    }
+
+    /**
+     * Hot reload of the rates: every role of the map gets its new rate in a single swap, so a payroll run never sees half
+     * of a reload. The roles missing from the map keep their current rate.
+     */
+    RateRegistry reload(Map<String, Double> rates) {
+        RateTable table;
+        RateTable reloaded;
+        do {
+            table = this.current.get();
+            reloaded = table;
+            for (Map.Entry<String, Double> rate : rates.entrySet()) {
+                reloaded = reloaded.withRate(rate.getKey(), rate.getValue());
+            }
+        } while (!this.current.compareAndSet(table, reloaded));
+        return this;
+    }
+}
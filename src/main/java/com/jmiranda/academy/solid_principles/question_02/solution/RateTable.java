@@ -0,0 +1,79 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable snapshot of the {@link RateRegistry}: the code of every role and the rates indexed by those codes.
+ */
+final class RateTable {
+
+    static final RateTable EMPTY = new RateTable(new HashMap<>(), new String[0], new double[0], 0);
+
+    private final Map<String, Integer> codes;
+    private final String[] roles;
+    private final double[] rates;
+    private final long version;
+
+    private RateTable(Map<String, Integer> codes, String[] roles, double[] rates, long version) {
+        this.codes = codes;
+        this.roles = roles;
+        this.rates = rates;
+        this.version = version;
+    }
+
+    /**
+     * The code of the role, or -1 if the role isn't registered.
+     */
+    int codeOf(String role) {
+        Integer code = this.codes.get(role);
+        return code == null ? -1 : code;
+    }
+
+    String roleOf(int code) {
+        return this.roles[code];
+    }
+
+    double rate(int code) {
+        if (code < 0 || code >= this.rates.length) {
+            throw new NoSuchElementException("No rate registered for the role code " + code);
+        }
+        return this.rates[code];
+    }
+
+    int size() {
+        return this.rates.length;
+    }
+
+    /**
+     * Incremented on every change of the registry, so a cached result can tell if it was computed with older rates.
+     */
+    long version() {
+        return this.version;
+    }
+
+    /**
+     * A copy of the rates indexed by the role code, for the loops that can't afford a method call per rate.
+     */
+    double[] rates() {
+        return this.rates.clone();
+    }
+
+    RateTable withRate(String role, double rate) {
+        int code = codeOf(role);
+        if (code >= 0) {
+            double[] newRates = this.rates.clone();
+            newRates[code] = rate;
+            return new RateTable(this.codes, this.roles, newRates, this.version + 1);
+        }
+        Map<String, Integer> newCodes = new HashMap<>(this.codes);
+        newCodes.put(role, this.rates.length);
+        String[] newRoles = Arrays.copyOf(this.roles, this.roles.length + 1);
+        newRoles[this.roles.length] = role;
+        double[] newRates = Arrays.copyOf(this.rates, this.rates.length + 1);
+        newRates[this.rates.length] = rate;
+        return new RateTable(newCodes, newRoles, newRates, this.version + 1);
+    }
+}
@@ -0,0 +1,37 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+/**
+ * Employee of any role registered in a {@link RateRegistry}. A new role only needs its rate in the registry, there is no
+ * need to write (and deploy) a new {@link Employee} subclass.
+ */
+class RoleEmployee extends Employee {
+
+    private final String role;
+    private final int roleCode;
+    private final RateRegistry rateRegistry;
+
+    RoleEmployee(String fullName, int hoursReported, String role, RateRegistry rateRegistry) {
+        super(fullName, hoursReported);
+        this.roleCode = rateRegistry.snapshot().codeOf(role);
+        if (this.roleCode < 0) {
+            throw new IllegalArgumentException("Unknown role: " + role);
+        }
+        this.role = role;
+        this.rateRegistry = rateRegistry;
+    }
+
+    @Override
+    String getRole() {
+        return this.role;
+    }
+
+    @Override
+    RateRegistry getRateRegistry() {
+        return this.rateRegistry;
+    }
+
+    @Override
+    double calculateSalary(RateTable rates) {
+        return this.hoursReported * rates.rate(this.roleCode);
+    }
+}
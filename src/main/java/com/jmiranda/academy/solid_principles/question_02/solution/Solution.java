@@ -65,8 +65,39 @@ abstract class Employee implements IPayroll {
     String getFullName() {
         return fullName;
     }
+
+    int getHoursReported() {
+        return hoursReported;
+    }
+
+    /**
+     * The role is the kind of employee, used to group the payroll results.
+     */
+    String getRole() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * The registry holding the rate of the role.
+     */
+    RateRegistry getRateRegistry() {
+        return RateRegistry.getDefault();
+    }
+
+    // Prices with the current rates. A payroll run takes one snapshot and calls calculateSalary(RateTable) instead, so a
+    // reload in the middle of the run doesn't mix old and new rates.
+    @Override
+    public double calculateSalary() {
+        return calculateSalary(getRateRegistry().snapshot());
+    }
+
+    /**
+     * The salary with the rates of a snapshot of {@link #getRateRegistry()}.
+     */
+    abstract double calculateSalary(RateTable rates);
 }
 
+// The rates aren't compiled into the subclasses, they are read from the RateRegistry, so they can change without a redeploy.
 class Junior extends Employee {
 
     public Junior(String fullName, int hoursReported) {
@@ -74,8 +105,8 @@ class Junior extends Employee {
     }
 
     @Override
-    public double calculateSalary() {
-        return this.hoursReported * 15.25;
+    double calculateSalary(RateTable rates) {
+        return this.hoursReported * rates.rate(RateRegistry.JUNIOR);
     }
 }
 
@@ -86,8 +117,8 @@ class Senior extends Employee {
     }
 
     @Override
-    public double calculateSalary() {
-        return this.hoursReported * 17.50;
+    double calculateSalary(RateTable rates) {
+        return this.hoursReported * rates.rate(RateRegistry.SENIOR);
     }
 }
 
@@ -98,7 +129,7 @@ class Principal extends Employee {
     }
 
     @Override
-    public double calculateSalary() {
-        return this.hoursReported * 18.75;
+    double calculateSalary(RateTable rates) {
+        return this.hoursReported * rates.rate(RateRegistry.PRINCIPAL);
     }
 }
@@ -0,0 +1,91 @@
+package com.jmiranda.academy.solid_principles.question_03.solution;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Aggregates of a set of areas: count, sum, min, max and a histogram.
+ * <p>
+ * The statistics are mergeable, the statistics of two parts computed apart (by different threads, or from different
+ * chunks of the input) are merged into the statistics of the whole, which is what lets the {@link StreamingAreaAggregator}
+ * compute them in parallel. The histogram buckets are defined by their ascending upper bounds, an area goes to the first
+ * bucket whose bound is greater than the area, and the last bucket counts the areas above every bound.
+ */
+class AreaStatistics implements DoubleConsumer {
+
+    private final double[] bucketBounds;
+    private final long[] histogram;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    AreaStatistics(double... bucketBounds) {
+        for (int i = 1; i < bucketBounds.length; i++) {
+            if (bucketBounds[i - 1] >= bucketBounds[i]) {
+                throw new IllegalArgumentException("The bucket bounds must be ascending: " + Arrays.toString(bucketBounds));
+            }
+        }
+        this.bucketBounds = bucketBounds.clone();
+        this.histogram = new long[bucketBounds.length + 1];
+    }
+
+    @Override
+    public void accept(double area) {
+        this.count++;
+        this.sum += area;
+        this.min = Math.min(this.min, area);
+        this.max = Math.max(this.max, area);
+        int bucket = Arrays.binarySearch(this.bucketBounds, area);
+        this.histogram[bucket >= 0 ? bucket + 1 : -bucket - 1]++;
+    }
+
+    AreaStatistics merge(AreaStatistics other) {
+        if (!Arrays.equals(this.bucketBounds, other.bucketBounds)) {
+            throw new IllegalArgumentException("Only statistics with the same buckets can be merged");
+        }
+        this.count += other.count;
+        this.sum += other.sum;
+        this.min = Math.min(this.min, other.min);
+        this.max = Math.max(this.max, other.max);
+        for (int i = 0; i < this.histogram.length; i++) {
+            this.histogram[i] += other.histogram[i];
+        }
+        return this;
+    }
+
+    /**
+     * Empty statistics with the same buckets, to compute a part that will be merged into these ones.
+     */
+    AreaStatistics newPartial() {
+        return new AreaStatistics(this.bucketBounds);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getSum() {
+        return sum;
+    }
+
+    double getMin() {
+        return min;
+    }
+
+    double getMax() {
+        return max;
+    }
+
+    double getAverage() {
+        return count == 0 ? 0.0d : sum / count;
+    }
+
+    double[] getBucketBounds() {
+        return bucketBounds.clone();
+    }
+
+    long[] getHistogram() {
+        return histogram.clone();
+    }
+}
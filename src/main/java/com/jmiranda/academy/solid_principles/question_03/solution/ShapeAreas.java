@@ -0,0 +1,32 @@
+package com.jmiranda.academy.solid_principles.question_03.solution;
+
+/**
+ * Areas computed by a {@link ShapeBatch}, in the same order as the shapes of the batch. The shapes without an area
+ * ({@link OneDimensionalShape}) have {@link Double#NaN} as area and aren't part of the total.
+ */
+class ShapeAreas {
+
+    private final double[] areas;
+    private final double total;
+
+    ShapeAreas(double[] areas, double total) {
+        this.areas = areas;
+        this.total = total;
+    }
+
+    int size() {
+        return areas.length;
+    }
+
+    double getArea(int index) {
+        return areas[index];
+    }
+
+    boolean hasArea(int index) {
+        return !Double.isNaN(areas[index]);
+    }
+
+    double getTotal() {
+        return total;
+    }
+}
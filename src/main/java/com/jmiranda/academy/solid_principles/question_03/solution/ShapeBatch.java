@@ -0,0 +1,156 @@
+package com.jmiranda.academy.solid_principles.question_03.solution;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Bulk area computation over a list of {@link Shape}.
+ * <p>
+ * The shapes are grouped once by their concrete type, the dimensions copied into primitive arrays (the radii of the
+ * circles, the widths of the squares), and the areas are then computed by one loop per type over those arrays. The loops
+ * have no cast, no virtual call and no boxing, they are plain arithmetic over contiguous arrays, which the JIT compiler
+ * can unroll and vectorize. Any other {@link TwoDimensionalShape} goes through its own getArea, and the
+ * {@link OneDimensionalShape} are skipped because they don't have an area.
+ */
+class ShapeBatch {
+
+    private final int size;
+    private final double[] radii;
+    private final int[] circles;
+    private final double[] widths;
+    private final int[] squares;
+    private final TwoDimensionalShape[] others;
+    private final int[] otherIndexes;
+
+    private ShapeBatch(int size, double[] radii, int[] circles, double[] widths, int[] squares,
+                       TwoDimensionalShape[] others, int[] otherIndexes) {
+        this.size = size;
+        this.radii = radii;
+        this.circles = circles;
+        this.widths = widths;
+        this.squares = squares;
+        this.others = others;
+        this.otherIndexes = otherIndexes;
+    }
+
+    static ShapeBatch of(List<? extends Shape> shapes) {
+        int size = shapes.size();
+        double[] radii = new double[size];
+        int[] circles = new int[size];
+        double[] widths = new double[size];
+        int[] squares = new int[size];
+        TwoDimensionalShape[] others = new TwoDimensionalShape[0];
+        int[] otherIndexes = new int[0];
+        int circleCount = 0;
+        int squareCount = 0;
+        int otherCount = 0;
+
+        int index = 0;
+        for (Shape shape : shapes) {
+            if (shape instanceof CircleShape) {
+                radii[circleCount] = ((CircleShape) shape).getRadius();
+                circles[circleCount++] = index;
+            } else if (shape instanceof SquareShape) {
+                widths[squareCount] = ((SquareShape) shape).getWidth();
+                squares[squareCount++] = index;
+            } else if (shape instanceof TwoDimensionalShape) {
+                if (otherCount == others.length) {
+                    others = Arrays.copyOf(others, Math.max(8, otherCount * 2));
+                    otherIndexes = Arrays.copyOf(otherIndexes, others.length);
+                }
+                others[otherCount] = (TwoDimensionalShape) shape;
+                otherIndexes[otherCount++] = index;
+            }
+            index++;
+        }
+        return new ShapeBatch(size,
+                Arrays.copyOf(radii, circleCount), Arrays.copyOf(circles, circleCount),
+                Arrays.copyOf(widths, squareCount), Arrays.copyOf(squares, squareCount),
+                Arrays.copyOf(others, otherCount), Arrays.copyOf(otherIndexes, otherCount));
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * The total area of the shapes. The areas are summed as they are computed, nothing is allocated.
+     */
+    double totalArea() {
+        double circles = 0;
+        for (double radius : this.radii) {
+            circles += Math.PI * (radius * radius);
+        }
+        double squares = 0;
+        for (double width : this.widths) {
+            squares += width * width;
+        }
+        double others = 0;
+        for (TwoDimensionalShape shape : this.others) {
+            others += shape.getArea();
+        }
+        return circles + squares + others;
+    }
+
+    /**
+     * Gives the area of every shape that has one, grouped by type instead of in the order of the batch. The areas are
+     * computed one by one, nothing is allocated.
+     */
+    void forEachArea(DoubleConsumer consumer) {
+        for (double radius : this.radii) {
+            consumer.accept(Math.PI * (radius * radius));
+        }
+        for (double width : this.widths) {
+            consumer.accept(width * width);
+        }
+        for (TwoDimensionalShape shape : this.others) {
+            consumer.accept(shape.getArea());
+        }
+    }
+
+    ShapeAreas computeAreas() {
+        double[] areas = new double[this.size];
+        Arrays.fill(areas, Double.NaN);
+        double total = scatter(circleAreas(this.radii), this.circles, areas)
+                + scatter(squareAreas(this.widths), this.squares, areas)
+                + scatter(otherAreas(this.others), this.otherIndexes, areas);
+        return new ShapeAreas(areas, total);
+    }
+
+    /**
+     * Same computation as {@link CircleShape#getArea()}: Math.pow(radius, 2) is exactly radius * radius.
+     */
+    static double[] circleAreas(double[] radii) {
+        double[] areas = new double[radii.length];
+        for (int i = 0; i < radii.length; i++) {
+            areas[i] = Math.PI * (radii[i] * radii[i]);
+        }
+        return areas;
+    }
+
+    static double[] squareAreas(double[] widths) {
+        double[] areas = new double[widths.length];
+        for (int i = 0; i < widths.length; i++) {
+            areas[i] = widths[i] * widths[i];
+        }
+        return areas;
+    }
+
+    private static double[] otherAreas(TwoDimensionalShape[] shapes) {
+        double[] areas = new double[shapes.length];
+        for (int i = 0; i < shapes.length; i++) {
+            areas[i] = shapes[i].getArea();
+        }
+        return areas;
+    }
+
+    private static double scatter(double[] values, int[] indexes, double[] target) {
+        double total = 0;
+        for (int i = 0; i < values.length; i++) {
+            target[indexes[i]] = values[i];
+            total += values[i];
+        }
+        return total;
+    }
+}
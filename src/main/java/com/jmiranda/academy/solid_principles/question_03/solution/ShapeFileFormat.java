@@ -0,0 +1,24 @@
+package com.jmiranda.academy.solid_principles.question_03.solution;
+
+/**
+ * Compact binary format of a shape file, written by {@link ShapeFileWriter} and read by {@link ShapeFileReader}.
+ * <p>
+ * The file starts with a header of 8 bytes, the magic number followed by the version of the format. Then every shape is a
+ * record of a 1 byte type tag followed by its dimensions as big-endian doubles: the radius of a circle, the width of a
+ * square, and nothing for a line.
+ */
+final class ShapeFileFormat {
+
+    static final int MAGIC = 0x53485031; // "SHP1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    static final byte LINE = 0;
+    static final byte CIRCLE = 1;
+    static final byte SQUARE = 2;
+
+    static final int MAX_RECORD_SIZE = 1 + Double.BYTES;
+
+    private ShapeFileFormat() {
+    }
+}
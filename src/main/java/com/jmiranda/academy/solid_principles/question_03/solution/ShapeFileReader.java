@@ -0,0 +1,116 @@
+package com.jmiranda.academy.solid_principles.question_03.solution;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Reads a file in the {@link ShapeFileFormat} through memory-mapped windows of the file.
+ * <p>
+ * The areas are computed straight from the dimensions in the mapped buffer, the records are never copied nor turned into
+ * {@link Shape} objects, so files of several gigabytes are scanned without allocating anything per shape. A file bigger
+ * than a window (a mapping is limited to 2 GB) is read one window after the other.
+ */
+class ShapeFileReader implements Closeable {
+
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long windowSize;
+
+    ShapeFileReader(Path path) throws IOException {
+        this(path, WINDOW_SIZE);
+    }
+
+    ShapeFileReader(Path path, long windowSize) throws IOException {
+        if (windowSize < ShapeFileFormat.MAX_RECORD_SIZE || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid window size: " + windowSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.windowSize = windowSize;
+        readHeader();
+    }
+
+    /**
+     * Gives the area of every shape of the file that has one, in the order of the file. The lines are skipped.
+     */
+    void forEachArea(DoubleConsumer consumer) throws IOException {
+        final long size = this.channel.size();
+        long position = ShapeFileFormat.HEADER_SIZE;
+        while (position < size) {
+            long length = Math.min(this.windowSize, size - position);
+            MappedByteBuffer window = this.channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int consumed = readRecords(window, consumer, position);
+            if (consumed < length && position + length == size) {
+                throw new IOException("Truncated shape record at offset " + (position + consumed));
+            }
+            position += consumed;
+        }
+    }
+
+    double totalArea() throws IOException {
+        double[] total = new double[1];
+        forEachArea(area -> total[0] += area);
+        return total[0];
+    }
+
+    AreaStatistics aggregate(AreaStatistics statistics) throws IOException {
+        forEachArea(statistics);
+        return statistics;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Reads the complete records of the window and returns the number of bytes read, a record cut by the end of the
+     * window is left for the next one.
+     */
+    private static int readRecords(ByteBuffer window, DoubleConsumer consumer, long offset) throws IOException {
+        while (window.hasRemaining()) {
+            int start = window.position();
+            byte tag = window.get();
+            if (tag == ShapeFileFormat.LINE) {
+                continue;
+            }
+            if (tag != ShapeFileFormat.CIRCLE && tag != ShapeFileFormat.SQUARE) {
+                throw new IOException("Unknown shape tag " + tag + " at offset " + (offset + start));
+            }
+            if (window.remaining() < Double.BYTES) {
+                window.position(start);
+                break;
+            }
+            double dimension = window.getDouble();
+            if (tag == ShapeFileFormat.CIRCLE) {
+                consumer.accept(Math.PI * (dimension * dimension));
+            } else {
+                consumer.accept(dimension * dimension);
+            }
+        }
+        return window.position();
+    }
+
+    private void readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(ShapeFileFormat.HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (this.channel.read(header, header.position()) < 0) {
+                this.channel.close();
+                throw new IOException("Not a shape file, the header is missing");
+            }
+        }
+        header.flip();
+        int magic = header.getInt();
+        int version = header.getInt();
+        if (magic != ShapeFileFormat.MAGIC || version != ShapeFileFormat.VERSION) {
+            this.channel.close();
+            throw new IOException("Unsupported shape file, magic " + Integer.toHexString(magic) + " version " + version);
+        }
+    }
+}
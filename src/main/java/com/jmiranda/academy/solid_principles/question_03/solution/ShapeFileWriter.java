@@ -0,0 +1,57 @@
+package com.jmiranda.academy.solid_principles.question_03.solution;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes shapes to a file in the {@link ShapeFileFormat}. The records are buffered and written in blocks.
+ */
+class ShapeFileWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    ShapeFileWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.buffer.putInt(ShapeFileFormat.MAGIC).putInt(ShapeFileFormat.VERSION);
+    }
+
+    void write(Shape shape) throws IOException {
+        if (this.buffer.remaining() < ShapeFileFormat.MAX_RECORD_SIZE) {
+            flush();
+        }
+        if (shape instanceof CircleShape) {
+            this.buffer.put(ShapeFileFormat.CIRCLE).putDouble(((CircleShape) shape).getRadius());
+        } else if (shape instanceof SquareShape) {
+            this.buffer.put(ShapeFileFormat.SQUARE).putDouble(((SquareShape) shape).getWidth());
+        } else if (shape instanceof LineShape) {
+            this.buffer.put(ShapeFileFormat.LINE);
+        } else {
+            throw new IllegalArgumentException("The shape file format doesn't support " + shape.getClass().getSimpleName());
+        }
+    }
+
+    void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+}
@@ -61,6 +61,10 @@ class CircleShape extends TwoDimensionalShape {
         this.radius = radius;
     }
 
+    double getRadius() {
+        return radius;
+    }
+
     @Override
     double getArea() {
         return Math.PI * Math.pow(this.radius, 2);
@@ -75,6 +79,10 @@ class SquareShape extends TwoDimensionalShape {
         this.width = width;
     }
 
+    double getWidth() {
+        return width;
+    }
+
     @Override
     double getArea() {
         return Math.pow(this.width, 2);
@@ -0,0 +1,91 @@
+package com.jmiranda.academy.solid_principles.question_03.solution;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the {@link AreaStatistics} of a stream of shapes that doesn't need to fit in memory.
+ * <p>
+ * The shapes are read from the iterator in chunks, and only one chunk is held at a time, so the memory used is bounded
+ * by the chunk size and not by the number of shapes. Every chunk is split between the workers of a {@link ForkJoinPool},
+ * each one computes the statistics of its part through a {@link ShapeBatch}, and the partial statistics are merged.
+ * The {@link OneDimensionalShape} are skipped by their type, like in the {@link ShapeBatch}.
+ */
+class StreamingAreaAggregator {
+
+    static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    private static final int MIN_SLICE_SIZE = 1024;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    StreamingAreaAggregator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    StreamingAreaAggregator(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Aggregates every shape of the iterator into the given statistics, and returns them.
+     */
+    AreaStatistics aggregate(Iterator<? extends Shape> shapes, AreaStatistics statistics) {
+        List<Shape> chunk = new ArrayList<>(Math.min(this.chunkSize, DEFAULT_CHUNK_SIZE));
+        while (shapes.hasNext()) {
+            chunk.add(shapes.next());
+            if (chunk.size() == this.chunkSize) {
+                statistics.merge(aggregateChunk(chunk, statistics));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            statistics.merge(aggregateChunk(chunk, statistics));
+        }
+        return statistics;
+    }
+
+    private AreaStatistics aggregateChunk(List<Shape> chunk, AreaStatistics statistics) {
+        int sliceSize = Math.max(MIN_SLICE_SIZE, chunk.size() / this.pool.getParallelism());
+        return this.pool.invoke(new SliceTask(chunk, 0, chunk.size(), sliceSize, statistics));
+    }
+
+    private static final class SliceTask extends RecursiveTask<AreaStatistics> {
+
+        private final List<Shape> shapes;
+        private final int from;
+        private final int to;
+        private final int sliceSize;
+        private final AreaStatistics statistics;
+
+        SliceTask(List<Shape> shapes, int from, int to, int sliceSize, AreaStatistics statistics) {
+            this.shapes = shapes;
+            this.from = from;
+            this.to = to;
+            this.sliceSize = sliceSize;
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected AreaStatistics compute() {
+            if (this.to - this.from <= this.sliceSize) {
+                AreaStatistics partial = this.statistics.newPartial();
+                ShapeBatch.of(this.shapes.subList(this.from, this.to)).forEachArea(partial);
+                return partial;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            SliceTask left = new SliceTask(this.shapes, this.from, middle, this.sliceSize, this.statistics);
+            SliceTask right = new SliceTask(this.shapes, middle, this.to, this.sliceSize, this.statistics);
+            left.fork();
+            AreaStatistics rightStatistics = right.compute();
+            return left.join().merge(rightStatistics);
+        }
+    }
+}
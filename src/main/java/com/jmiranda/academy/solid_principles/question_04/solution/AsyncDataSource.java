@@ -0,0 +1,36 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous adapter of a blocking data source: every read and write runs on the given executor, so the caller never
+ * blocks. With the executor of {@link DataSourceExecutors#newExecutor(int)}, every call gets its own virtual thread
+ * when the JVM has them.
+ */
+class AsyncDataSource implements IAsyncDataSourceReader, IAsyncDataSourceWriter {
+
+    private final IDataSourceReader reader;
+    private final IDataSourceWriter writer;
+    private final Executor executor;
+
+    AsyncDataSource(IDataSourceReader reader, IDataSourceWriter writer, Executor executor) {
+        this.reader = reader;
+        this.writer = writer;
+        this.executor = executor;
+    }
+
+    <T extends IDataSourceReader & IDataSourceWriter> AsyncDataSource(T dataSource, Executor executor) {
+        this(dataSource, dataSource, executor);
+    }
+
+    @Override
+    public CompletableFuture<Record> readRecordAsync(final int id) {
+        return CompletableFuture.supplyAsync(() -> this.reader.readRecord(id), this.executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> writeRecordAsync(Record record) {
+        return CompletableFuture.runAsync(() -> this.writer.writeRecord(record), this.executor);
+    }
+}
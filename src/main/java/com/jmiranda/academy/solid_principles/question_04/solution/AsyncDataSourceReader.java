@@ -0,0 +1,106 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous counterpart of the {@link DataSourceReader}.
+ */
+class AsyncDataSourceReader {
+
+    /**
+     * Reads the records of the ids, in the same order, with at most {@code maxConcurrency} reads in flight at a time.
+     * A new read only starts when a previous one completes, so a huge list of ids doesn't flood the data source. The
+     * result completes exceptionally with the error of the first failed read.
+     */
+    static CompletableFuture<List<Record>> readRecords(IAsyncDataSourceReader reader, List<Integer> ids,
+                                                       int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("The concurrency must be positive: " + maxConcurrency);
+        }
+        return new BoundedRead(reader, ids).start(maxConcurrency);
+    }
+
+    private static final class BoundedRead {
+
+        private final IAsyncDataSourceReader reader;
+        private final int[] ids;
+        private final Record[] records;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<List<Record>> result = new CompletableFuture<>();
+
+        BoundedRead(IAsyncDataSourceReader reader, List<Integer> ids) {
+            this.reader = reader;
+            this.ids = ids.stream().mapToInt(Integer::intValue).toArray();
+            this.records = new Record[this.ids.length];
+            this.remaining = new AtomicInteger(this.ids.length);
+        }
+
+        CompletableFuture<List<Record>> start(int maxConcurrency) {
+            if (this.ids.length == 0) {
+                this.result.complete(Arrays.asList(this.records));
+            }
+            for (int lane = 0; lane < Math.min(maxConcurrency, this.ids.length); lane++) {
+                readNext();
+            }
+            return this.result;
+        }
+
+        /**
+         * Reads one id after the other as long as the reads complete right away, and hands over to the completion of the
+         * first read that doesn't, so the reads completed synchronously don't pile up on the stack.
+         */
+        private void readNext() {
+            while (!this.result.isDone()) {
+                int index = this.next.getAndIncrement();
+                if (index >= this.ids.length) {
+                    return;
+                }
+                CompletableFuture<Record> read;
+                try {
+                    read = Objects.requireNonNull(this.reader.readRecordAsync(this.ids[index]));
+                } catch (RuntimeException e) {
+                    // A reader failing before returning its future fails the whole read. It can happen on the thread of
+                    // the completion of a previous read, where the exception would otherwise be lost.
+                    completed(index, null, e);
+                    return;
+                }
+                if (!read.isDone()) {
+                    read.whenComplete((record, error) -> {
+                        if (completed(index, record, error)) {
+                            readNext();
+                        }
+                    });
+                    return;
+                }
+                Record record = null;
+                Throwable error = null;
+                try {
+                    record = read.join();
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+                if (!completed(index, record, error)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean completed(int index, Record record, Throwable error) {
+            if (error != null) {
+                this.result.completeExceptionally(error);
+                return false;
+            }
+            this.records[index] = record;
+            if (this.remaining.decrementAndGet() == 0) {
+                this.result.complete(Arrays.asList(this.records));
+            }
+            return true;
+        }
+    }
+}
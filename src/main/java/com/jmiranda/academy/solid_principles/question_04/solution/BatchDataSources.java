@@ -0,0 +1,92 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Adapters from the single record data sources to the batch ones, so the existing {@link IDataSourceReader} and
+ * {@link IDataSourceWriter} implementations can be used where a batch is expected. A data source that already
+ * implements the batch interface is used as it is.
+ */
+final class BatchDataSources {
+
+    private BatchDataSources() {
+    }
+
+    static IBatchDataSourceReader reader(IDataSourceReader reader) {
+        if (reader instanceof IBatchDataSourceReader) {
+            return (IBatchDataSourceReader) reader;
+        }
+        return ids -> {
+            int[] sortedIds = sortedDistinct(ids);
+            BatchReadResultBuilder result = new BatchReadResultBuilder(sortedIds.length);
+            for (int id : sortedIds) {
+                try {
+                    result.found(id, reader.readRecord(id));
+                } catch (NoSuchElementException e) {
+                    result.missing(id);
+                }
+            }
+            return result.build();
+        };
+    }
+
+    static IBatchDataSourceWriter writer(IDataSourceWriter writer) {
+        if (writer instanceof IBatchDataSourceWriter) {
+            return (IBatchDataSourceWriter) writer;
+        }
+        return records -> records.forEach(writer::writeRecord);
+    }
+
+    /**
+     * The ids sorted and without duplicates, the order in which a batch is looked up.
+     */
+    static int[] sortedDistinct(List<Integer> ids) {
+        int[] sorted = new int[ids.size()];
+        int i = 0;
+        for (Integer id : ids) {
+            sorted[i++] = id;
+        }
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (i = 0; i < sorted.length; i++) {
+            if (distinct == 0 || sorted[distinct - 1] != sorted[i]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+
+    /**
+     * Collects the records found and the ids missing of a batch, in the order of the sorted ids.
+     */
+    static final class BatchReadResultBuilder {
+
+        private final int[] ids;
+        private final Record[] records;
+        private final int[] missingIds;
+        private int found;
+        private int missing;
+
+        BatchReadResultBuilder(int capacity) {
+            this.ids = new int[capacity];
+            this.records = new Record[capacity];
+            this.missingIds = new int[capacity];
+        }
+
+        void found(int id, Record record) {
+            this.ids[this.found] = id;
+            this.records[this.found++] = record;
+        }
+
+        void missing(int id) {
+            this.missingIds[this.missing++] = id;
+        }
+
+        BatchReadResult build() {
+            return new BatchReadResult(Arrays.copyOf(this.ids, this.found), Arrays.copyOf(this.records, this.found),
+                    Arrays.copyOf(this.missingIds, this.missing));
+        }
+    }
+}
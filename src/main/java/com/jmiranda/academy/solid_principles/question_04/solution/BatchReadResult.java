@@ -0,0 +1,53 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Result of a batch read: the records found, sorted by id and without duplicates, and the ids that weren't found.
+ */
+class BatchReadResult {
+
+    private final int[] ids;
+    private final Record[] records;
+    private final int[] missingIds;
+
+    BatchReadResult(int[] ids, Record[] records, int[] missingIds) {
+        this.ids = ids;
+        this.records = records;
+        this.missingIds = missingIds;
+    }
+
+    List<Record> getRecords() {
+        return Collections.unmodifiableList(Arrays.asList(records));
+    }
+
+    /**
+     * The record of the given id, found by a binary search over the sorted ids of the batch.
+     */
+    Record getRecord(final int id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+        return records[index];
+    }
+
+    int[] getMissingIds() {
+        return missingIds.clone();
+    }
+
+    boolean isComplete() {
+        return missingIds.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchReadResult{" +
+                "records=" + Arrays.toString(records) +
+                ", missingIds=" + Arrays.toString(missingIds) +
+                '}';
+    }
+}
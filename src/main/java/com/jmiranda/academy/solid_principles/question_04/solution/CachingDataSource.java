@@ -0,0 +1,363 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Read-through cache in front of a slow data source.
+ * <p>
+ * The cache holds at most a maximum number of records, dropped according to the {@link EvictionPolicy}, and optionally
+ * for a limited time. The writes go through {@link #writeRecord(Record)}, which writes to the data source and then
+ * invalidates the cached record, so a record is never served stale after it was written. When several threads miss the
+ * same id at the same time, only one of them loads it from the data source and the others wait for that load.
+ * <p>
+ * A hit never locks: the records are in a {@link ConcurrentHashMap}, and the read is only recorded in a small buffer of
+ * the thread. The recency order and the frequency sketch of the eviction policy are updated from those buffers under the
+ * eviction lock, when a record is cached or when a buffer is full. A read recorded while the buffer of its thread is
+ * full is dropped, so the policy works on a sample of the reads under a heavy load, which is enough to pick the victims.
+ * <p>
+ * The hit, miss and eviction counters tell how well the cache is doing.
+ */
+class CachingDataSource implements IDataSourceReader, IDataSourceWriter {
+
+    private final IDataSourceReader reader;
+    private final IDataSourceWriter writer;
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final EvictionPolicy evictionPolicy;
+
+    // Written under the eviction lock, read without locking.
+    private final ConcurrentMap<Integer, CachedRecord> records = new ConcurrentHashMap<>();
+    // Same entries as the records, access ordered: the eldest entry is the least recently used.
+    private final LinkedHashMap<Integer, CachedRecord> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch frequencies;
+    private final ReadBuffer reads = new ReadBuffer();
+    // Guards the access order, the frequencies, the draining of the reads and the writes of the records.
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final IntConsumer applyRead = this::applyRead;
+    private final ConcurrentMap<Integer, CompletableFuture<Record>> loads = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param timeToLive how long a record stays in the cache, 0 to keep it until it is evicted or invalidated
+     */
+    CachingDataSource(IDataSourceReader reader, IDataSourceWriter writer, int maximumSize,
+                      long timeToLive, TimeUnit unit, EvictionPolicy evictionPolicy) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be positive: " + maximumSize);
+        }
+        this.reader = reader;
+        this.writer = writer;
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.evictionPolicy = evictionPolicy;
+        this.frequencies = evictionPolicy == EvictionPolicy.TINY_LFU ? new FrequencySketch(maximumSize) : null;
+    }
+
+    <T extends IDataSourceReader & IDataSourceWriter> CachingDataSource(T dataSource, int maximumSize) {
+        this(dataSource, dataSource, maximumSize, 0, TimeUnit.NANOSECONDS, EvictionPolicy.TINY_LFU);
+    }
+
+    @Override
+    public Record readRecord(final int id) {
+        Record record = getIfPresent(id);
+        if (record != null) {
+            this.hits.increment();
+            return record;
+        }
+        this.misses.increment();
+
+        CompletableFuture<Record> load = new CompletableFuture<>();
+        CompletableFuture<Record> pending = this.loads.putIfAbsent(id, load);
+        if (pending != null) {
+            return join(pending);
+        }
+        try {
+            record = this.reader.readRecord(id);
+            // A write invalidates the pending load, its record may be stale and is then not cached. The load is checked
+            // and the record cached under the same lock as the invalidation, so a write can't slip in between.
+            this.evictionLock.lock();
+            try {
+                if (this.loads.remove(id, load)) {
+                    put(id, record);
+                }
+            } finally {
+                this.evictionLock.unlock();
+            }
+            load.complete(record);
+            return record;
+        } catch (RuntimeException e) {
+            this.loads.remove(id, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void writeRecord(Record record) {
+        this.writer.writeRecord(record);
+        invalidate(record.getId());
+    }
+
+    void invalidate(final int id) {
+        this.evictionLock.lock();
+        try {
+            this.loads.remove(id);
+            this.records.remove(id);
+            this.accessOrder.remove(id);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    void invalidateAll() {
+        this.evictionLock.lock();
+        try {
+            this.loads.clear();
+            this.records.clear();
+            this.accessOrder.clear();
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    int size() {
+        return this.records.size();
+    }
+
+    long getHitCount() {
+        return this.hits.sum();
+    }
+
+    long getMissCount() {
+        return this.misses.sum();
+    }
+
+    long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    private Record getIfPresent(int id) {
+        if (!this.reads.offer(id) && this.evictionLock.tryLock()) {
+            // The buffer of the thread is full, it is drained unless another thread holds the lock.
+            try {
+                this.reads.drainTo(this.applyRead);
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+        CachedRecord cached = this.records.get(id);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.nanoTime())) {
+            this.evictionLock.lock();
+            try {
+                if (this.records.remove(id, cached)) {
+                    this.accessOrder.remove(id);
+                }
+            } finally {
+                this.evictionLock.unlock();
+            }
+            return null;
+        }
+        return cached.record;
+    }
+
+    /**
+     * Caches the record, under the eviction lock. The buffered reads are applied first, so the victim is picked from an
+     * up to date order and frequencies.
+     */
+    private void put(int id, Record record) {
+        long expiresAt = this.timeToLiveNanos > 0 ? System.nanoTime() + this.timeToLiveNanos : Long.MAX_VALUE;
+        this.reads.drainTo(this.applyRead);
+        if (this.accessOrder.size() >= this.maximumSize && !this.accessOrder.containsKey(id)) {
+            Iterator<Map.Entry<Integer, CachedRecord>> eldest = this.accessOrder.entrySet().iterator();
+            Integer victim = eldest.next().getKey();
+            if (this.evictionPolicy == EvictionPolicy.TINY_LFU
+                    && this.frequencies.frequency(id) <= this.frequencies.frequency(victim)) {
+                return;
+            }
+            eldest.remove();
+            this.records.remove(victim);
+            this.evictions.increment();
+        }
+        CachedRecord cached = new CachedRecord(record, expiresAt);
+        this.accessOrder.put(id, cached);
+        this.records.put(id, cached);
+    }
+
+    /**
+     * Applies a buffered read to the eviction policy, under the eviction lock.
+     */
+    private void applyRead(int id) {
+        if (this.frequencies != null) {
+            this.frequencies.increment(id);
+        }
+        // Moves the record, if it is still cached, to the most recently used end.
+        this.accessOrder.get(id);
+    }
+
+    private static Record join(CompletableFuture<Record> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class CachedRecord {
+
+        private final Record record;
+        private final long expiresAt;
+
+        CachedRecord(Record record, long expiresAt) {
+            this.record = record;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return this.expiresAt != Long.MAX_VALUE && now - this.expiresAt >= 0;
+        }
+    }
+
+    /**
+     * Lossy buffers of the ids read, one ring per stripe, the stripe picked by the thread so the readers of different
+     * threads rarely write to the same buffer. A read is dropped when the ring of its stripe is full, or when another
+     * thread of the same stripe takes the same slot at the same time. The rings are drained under the eviction lock.
+     */
+    private static final class ReadBuffer {
+
+        private static final int RING_SIZE = 16;
+        private static final int RING_MASK = RING_SIZE - 1;
+        private static final long OCCUPIED = 1L << 32;
+
+        private final AtomicLongArray slots;
+        private final AtomicLong[] writes;
+        // Written under the eviction lock, read by the writers to know if their ring is full.
+        private final AtomicLongArray drained;
+        private final int stripeMask;
+
+        ReadBuffer() {
+            int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+            this.slots = new AtomicLongArray(stripes * RING_SIZE);
+            this.writes = new AtomicLong[stripes];
+            for (int i = 0; i < stripes; i++) {
+                this.writes[i] = new AtomicLong();
+            }
+            this.drained = new AtomicLongArray(stripes);
+            this.stripeMask = stripes - 1;
+        }
+
+        /**
+         * Records the read of the id, and returns false if the ring of the thread is full and should be drained.
+         */
+        boolean offer(int id) {
+            int hash = (int) Thread.currentThread().getId() * 0x9E3779B9;
+            int stripe = (hash ^ (hash >>> 16)) & this.stripeMask;
+            AtomicLong writes = this.writes[stripe];
+            long write = writes.get();
+            if (write - this.drained.get(stripe) >= RING_SIZE) {
+                return false;
+            }
+            if (writes.compareAndSet(write, write + 1)) {
+                this.slots.lazySet(stripe * RING_SIZE + ((int) write & RING_MASK), OCCUPIED | (id & 0xFFFFFFFFL));
+            }
+            return true;
+        }
+
+        /**
+         * Gives every read recorded to the consumer, stopping at a slot taken but not yet written by its reader. Must be
+         * called under the eviction lock.
+         */
+        void drainTo(IntConsumer consumer) {
+            for (int stripe = 0; stripe <= this.stripeMask; stripe++) {
+                long read = this.drained.get(stripe);
+                long write = this.writes[stripe].get();
+                for (; read < write; read++) {
+                    int slot = stripe * RING_SIZE + ((int) read & RING_MASK);
+                    long value = this.slots.get(slot);
+                    if (value == 0) {
+                        break;
+                    }
+                    this.slots.lazySet(slot, 0);
+                    consumer.accept((int) value);
+                }
+                this.drained.lazySet(stripe, read);
+            }
+        }
+    }
+
+    /**
+     * Count-min sketch of 4 bit counters, estimating how often every id was requested. The counters are halved every
+     * time the sketch reaches its sample size, so the old requests weigh less than the recent ones.
+     */
+    private static final class FrequencySketch {
+
+        private static final int[] SEEDS = {0x97CB3127, 0x5A3F2D6B, 0xC2B2AE35, 0x27D4EB2F};
+        private static final int MAX_COUNT = 15;
+
+        private final int[][] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maximumSize) {
+            int width = Integer.highestOneBit(Math.max(16, maximumSize) - 1) << 1;
+            this.counters = new int[SEEDS.length][width];
+            this.mask = width - 1;
+            this.sampleSize = 10 * Math.max(16, maximumSize);
+        }
+
+        void increment(int id) {
+            for (int row = 0; row < SEEDS.length; row++) {
+                int slot = slot(id, row);
+                if (this.counters[row][slot] < MAX_COUNT) {
+                    this.counters[row][slot]++;
+                }
+            }
+            if (++this.additions == this.sampleSize) {
+                halve();
+            }
+        }
+
+        int frequency(int id) {
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < SEEDS.length; row++) {
+                frequency = Math.min(frequency, this.counters[row][slot(id, row)]);
+            }
+            return frequency;
+        }
+
+        private int slot(int id, int row) {
+            int hash = id * SEEDS[row];
+            return (hash ^ (hash >>> 17)) & this.mask;
+        }
+
+        private void halve() {
+            for (int[] row : this.counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>>= 1;
+                }
+            }
+            this.additions >>>= 1;
+        }
+    }
+}
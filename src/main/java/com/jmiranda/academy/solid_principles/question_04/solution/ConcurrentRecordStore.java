@@ -0,0 +1,185 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Data source backed by a concurrent hash table keyed by the primitive id of the record.
+ * <p>
+ * The table is an open addressing table of {@code int} ids, so there is no boxed {@link Integer} per record, split in
+ * segments to let the writers of different segments work at the same time. {@link #readRecord(int)} is O(1) and never
+ * locks: the id of a slot is written before its record is published, so a reader that sees the record of a slot also
+ * sees its id. The writers of a segment are serialized by the lock of the segment, and a segment that is half full is
+ * grown into a new table that replaces the old one at once, the readers still on the old table keep a consistent view.
+ * <p>
+ * Writing a record whose id is already stored replaces it. The batch reads look up the sorted ids in a single pass and
+ * report the missing ones without throwing an exception per miss.
+ */
+class ConcurrentRecordStore implements IDataSourceReader, IDataSourceWriter, IBatchDataSourceReader, IBatchDataSourceWriter {
+
+    private static final int SEGMENT_BITS = 6;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+    ConcurrentRecordStore() {
+        this(0);
+    }
+
+    ConcurrentRecordStore(int expectedSize) {
+        int segmentCapacity = MIN_SEGMENT_CAPACITY;
+        while (segmentCapacity < 2L * expectedSize / this.segments.length) {
+            segmentCapacity <<= 1;
+        }
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    @Override
+    public Record readRecord(final int id) {
+        int hash = hash(id);
+        Record record = segmentFor(hash).get(id, hash);
+        if (record == null) {
+            throw new NoSuchElementException();
+        }
+        return record;
+    }
+
+    @Override
+    public void writeRecord(Record record) {
+        int hash = hash(record.getId());
+        segmentFor(hash).put(record.getId(), hash, record);
+    }
+
+    @Override
+    public BatchReadResult readRecords(final List<Integer> ids) {
+        int[] sortedIds = BatchDataSources.sortedDistinct(ids);
+        BatchDataSources.BatchReadResultBuilder result = new BatchDataSources.BatchReadResultBuilder(sortedIds.length);
+        for (int id : sortedIds) {
+            int hash = hash(id);
+            Record record = segmentFor(hash).get(id, hash);
+            if (record == null) {
+                result.missing(id);
+            } else {
+                result.found(id, record);
+            }
+        }
+        return result.build();
+    }
+
+    @Override
+    public void writeRecords(List<Record> records) {
+        records.forEach(this::writeRecord);
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(int hash) {
+        return this.segments[segmentOf(hash)];
+    }
+
+    /**
+     * Index of the segment holding the given id.
+     */
+    static int segmentOfId(int id) {
+        return segmentOf(hash(id));
+    }
+
+    private static int segmentOf(int hash) {
+        return hash >>> (Integer.SIZE - SEGMENT_BITS);
+    }
+
+    /**
+     * Spreads the ids, which are often sequential, over the whole table. The high bits select the segment and the low
+     * bits the slot inside the segment.
+     */
+    private static int hash(int id) {
+        int hash = id * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Segment {
+
+        private volatile Table table;
+        private int size;
+
+        Segment(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        Record get(int id, int hash) {
+            Table table = this.table;
+            for (int slot = hash & table.mask; ; slot = (slot + 1) & table.mask) {
+                Record record = table.records.get(slot);
+                if (record == null) {
+                    return null;
+                }
+                if (table.ids[slot] == id) {
+                    return record;
+                }
+            }
+        }
+
+        synchronized void put(int id, int hash, Record record) {
+            if (this.table.put(id, hash, record)) {
+                this.size++;
+                if (this.size > this.table.ids.length >>> 1) {
+                    this.table = this.table.grow();
+                }
+            }
+        }
+
+        synchronized int size() {
+            return this.size;
+        }
+    }
+
+    private static final class Table {
+
+        final int[] ids;
+        final AtomicReferenceArray<Record> records;
+        final int mask;
+
+        Table(int capacity) {
+            this.ids = new int[capacity];
+            this.records = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * Returns true if the id is new in the table, false if its record was replaced.
+         */
+        boolean put(int id, int hash, Record record) {
+            for (int slot = hash & this.mask; ; slot = (slot + 1) & this.mask) {
+                if (this.records.get(slot) == null) {
+                    this.ids[slot] = id;
+                    this.records.set(slot, record);
+                    return true;
+                }
+                if (this.ids[slot] == id) {
+                    this.records.set(slot, record);
+                    return false;
+                }
+            }
+        }
+
+        Table grow() {
+            Table grown = new Table(this.ids.length << 1);
+            for (int slot = 0; slot < this.ids.length; slot++) {
+                Record record = this.records.get(slot);
+                if (record != null) {
+                    grown.put(this.ids[slot], hash(this.ids[slot]), record);
+                }
+            }
+            return grown;
+        }
+    }
+}
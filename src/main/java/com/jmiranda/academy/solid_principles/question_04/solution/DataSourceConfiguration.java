@@ -0,0 +1,29 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import com.jmiranda.academy.metrics.AcademyMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * Publishes the reading and the writing sides of a {@link ConcurrentRecordStore} as two beans, so a client only gets the
+ * side it depends on, each instrumented when metrics are enabled. The beans are called from any request thread, the
+ * store is thread-safe where the static list of the {@link DataSource} isn't. The names avoid the dataSource bean of JDBC.
+ */
+@Configuration(proxyBeanMethods = false)
+class DataSourceConfiguration {
+
+    private final ConcurrentRecordStore recordStore = new ConcurrentRecordStore();
+
+    @Bean
+    @DependsOn(AcademyMetrics.BINDING_BEAN)
+    IDataSourceReader recordReader() {
+        return InstrumentedDataSource.instrument((IDataSourceReader) this.recordStore);
+    }
+
+    @Bean
+    @DependsOn(AcademyMetrics.BINDING_BEAN)
+    IDataSourceWriter recordWriter() {
+        return InstrumentedDataSource.instrument((IDataSourceWriter) this.recordStore);
+    }
+}
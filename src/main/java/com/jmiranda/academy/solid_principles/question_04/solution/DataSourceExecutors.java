@@ -0,0 +1,70 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for the {@link AsyncDataSource}.
+ * <p>
+ * On Java 21 and later, every task runs on its own virtual thread, so thousands of blocking reads don't hold thousands of
+ * platform threads. The project is compiled for Java 11, so the virtual thread executor is looked up at runtime, and on
+ * an older JVM the tasks run on a bounded pool of daemon threads instead.
+ */
+final class DataSourceExecutors {
+
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+
+    private DataSourceExecutors() {
+    }
+
+    static boolean hasVirtualThreads() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * @param maxThreads size of the pool used when the JVM doesn't have virtual threads
+     */
+    static ExecutorService newExecutor(int maxThreads) {
+        if (hasVirtualThreads()) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Falls back to the pool below.
+            }
+        }
+        return newBoundedExecutor(maxThreads);
+    }
+
+    static ExecutorService newBoundedExecutor(int maxThreads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new DaemonThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static Method findVirtualThreadExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "data-source-" + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+/**
+ * How the {@link CachingDataSource} picks the records to drop once it is full.
+ */
+enum EvictionPolicy {
+    /**
+     * Drops the least recently used record.
+     */
+    LRU,
+    /**
+     * The least recently used record is only dropped if the new record has been requested more often, according to a
+     * small frequency sketch, otherwise the new record isn't cached. It keeps the popular records of a skewed access
+     * pattern in the cache when a burst of one-time reads goes by.
+     */
+    TINY_LFU
+}
@@ -0,0 +1,12 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking reader, the record is given by the returned future. A missing record completes the future exceptionally
+ * with a {@link java.util.NoSuchElementException}.
+ */
+@FunctionalInterface
+interface IAsyncDataSourceReader {
+    CompletableFuture<Record> readRecordAsync(final int id);
+}
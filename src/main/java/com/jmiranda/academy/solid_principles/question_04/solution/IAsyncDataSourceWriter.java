@@ -0,0 +1,11 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking writer, the returned future completes once the record is written.
+ */
+@FunctionalInterface
+interface IAsyncDataSourceWriter {
+    CompletableFuture<Void> writeRecordAsync(Record record);
+}
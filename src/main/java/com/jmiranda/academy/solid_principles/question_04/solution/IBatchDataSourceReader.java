@@ -0,0 +1,13 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.util.List;
+
+/**
+ * Reader that serves a whole list of ids in one call, so a remote or disk based data source pays one round trip per
+ * batch instead of one per record. The ids that aren't found are reported in the {@link BatchReadResult}, they don't
+ * fail the batch.
+ */
+@FunctionalInterface
+interface IBatchDataSourceReader {
+    BatchReadResult readRecords(final List<Integer> ids);
+}
@@ -0,0 +1,11 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.util.List;
+
+/**
+ * Writer that stores a whole list of records in one call.
+ */
+@FunctionalInterface
+interface IBatchDataSourceWriter {
+    void writeRecords(List<Record> records);
+}
@@ -0,0 +1,102 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import com.jmiranda.academy.metrics.AcademyMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorators of the data sources timing {@link IDataSourceReader#readRecord(int)} and
+ * {@link IDataSourceWriter#writeRecord(Record)} (academy.records, tagged by operation and by the class of the data
+ * source) and counting the reads of missing records. Like the interfaces, the reader and the writer are instrumented
+ * separately, a client only gets the side it depends on.
+ */
+final class InstrumentedDataSource {
+
+    private InstrumentedDataSource() {
+    }
+
+    /**
+     * Returns the reader itself when metrics are disabled.
+     */
+    static IDataSourceReader instrument(IDataSourceReader reader) {
+        MeterRegistry registry = AcademyMetrics.registry();
+        if (registry == null || reader instanceof InstrumentedReader) {
+            return reader;
+        }
+        return new InstrumentedReader(reader, registry);
+    }
+
+    /**
+     * Returns the writer itself when metrics are disabled.
+     */
+    static IDataSourceWriter instrument(IDataSourceWriter writer) {
+        MeterRegistry registry = AcademyMetrics.registry();
+        if (registry == null || writer instanceof InstrumentedWriter) {
+            return writer;
+        }
+        return new InstrumentedWriter(writer, registry);
+    }
+
+    private static Timer timer(MeterRegistry registry, Object dataSource, String operation) {
+        return Timer.builder("academy.records")
+                .description("Reads and writes of records")
+                .tag("datasource", dataSource.getClass().getSimpleName())
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static final class InstrumentedReader implements IDataSourceReader {
+
+        private final IDataSourceReader delegate;
+        private final Timer timer;
+        private final Counter missCounter;
+
+        InstrumentedReader(IDataSourceReader delegate, MeterRegistry registry) {
+            this.delegate = delegate;
+            this.timer = timer(registry, delegate, "read");
+            this.missCounter = Counter.builder("academy.records.misses")
+                    .description("Reads of records that don't exist")
+                    .tag("datasource", delegate.getClass().getSimpleName())
+                    .register(registry);
+        }
+
+        @Override
+        public Record readRecord(final int id) {
+            long start = System.nanoTime();
+            try {
+                return this.delegate.readRecord(id);
+            } catch (NoSuchElementException e) {
+                this.missCounter.increment();
+                throw e;
+            } finally {
+                this.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static final class InstrumentedWriter implements IDataSourceWriter {
+
+        private final IDataSourceWriter delegate;
+        private final Timer timer;
+
+        InstrumentedWriter(IDataSourceWriter delegate, MeterRegistry registry) {
+            this.delegate = delegate;
+            this.timer = timer(registry, delegate, "write");
+        }
+
+        @Override
+        public void writeRecord(Record record) {
+            long start = System.nanoTime();
+            try {
+                this.delegate.writeRecord(record);
+            } finally {
+                this.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
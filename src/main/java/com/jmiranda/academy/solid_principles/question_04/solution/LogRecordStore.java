@@ -0,0 +1,482 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Durable data source that appends the records to segment files of a directory.
+ * <p>
+ * Every write is appended to the active segment, and once the segment reaches its maximum size a new one is started.
+ * A write returns when its record is on disk, but the writers waiting at the same time share a single fsync (group
+ * commit): one of them syncs the file for everything written so far while the others wait for it, so the cost of an
+ * fsync is paid once per batch of writes instead of once per record. A single writer gets the same effect with
+ * {@link #writeRecords(List)}, which appends a whole list of records with one write per segment and one fsync.
+ * <p>
+ * An in-memory index gives the segment and offset of the last record written for every id, so a read is a single
+ * positional read of the file. On start, the index is rebuilt by scanning the segments in order; every entry carries a
+ * CRC, and an entry torn by a crash at the end of the last segment is cut off. A background task compacts the sealed
+ * segments whose records were mostly superseded by newer writes: their live records are copied into a new file which
+ * replaces the segment under the same number, so the order of the segments, and therefore the recovery, is preserved.
+ * <p>
+ * Entry format: CRC32 (int), id (int), length of the UTF-8 name or -1 for a null name (int), then the name.
+ */
+class LogRecordStore implements IDataSourceReader, IDataSourceWriter, IBatchDataSourceWriter, Closeable {
+
+    static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    static final double COMPACTION_THRESHOLD = 0.5;
+
+    private static final int ENTRY_HEADER_SIZE = 3 * Integer.BYTES;
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long maxSegmentSize;
+    private final ConcurrentMap<Integer, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService compactor;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Condition synced = this.writeLock.newCondition();
+    private volatile Segment active;
+    private long writtenSequence;
+    private long syncedSequence;
+    private boolean syncing;
+
+    LogRecordStore(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @param compactionInterval how often the sealed segments are checked for compaction, 0 to never compact them
+     */
+    LogRecordStore(Path directory, long maxSegmentSize, long compactionInterval, TimeUnit unit) throws IOException {
+        if (maxSegmentSize < ENTRY_HEADER_SIZE || maxSegmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid segment size: " + maxSegmentSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxSegmentSize = maxSegmentSize;
+        recover();
+        if (compactionInterval > 0) {
+            this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "log-record-store-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.compactor.scheduleWithFixedDelay(this::compactQuietly, compactionInterval, compactionInterval, unit);
+        } else {
+            this.compactor = null;
+        }
+    }
+
+    @Override
+    public Record readRecord(final int id) {
+        while (true) {
+            Location location = this.index.get(id);
+            if (location == null) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return location.read();
+            } catch (ClosedChannelException e) {
+                // The segment was replaced by its compacted copy after the location was read, the index has moved on.
+                if (this.index.get(id) == location) {
+                    throw new UncheckedIOException(e);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void writeRecord(Record record) {
+        ByteBuffer entry = encode(record);
+        long sequence;
+        this.writeLock.lock();
+        try {
+            if (this.active.size + entry.remaining() > this.maxSegmentSize && this.active.size > 0) {
+                roll();
+            }
+            Location location = this.active.append(entry);
+            supersede(this.index.put(record.getId(), location));
+            sequence = ++this.writtenSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.writeLock.unlock();
+        }
+        sync(sequence);
+    }
+
+    /**
+     * Appends the records in order under the lock, the entries fitting in the active segment with a single write, and
+     * returns once they are all on disk, after one sync.
+     */
+    @Override
+    public void writeRecords(List<Record> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] entries = new ByteBuffer[records.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = encode(records.get(i));
+        }
+        long sequence;
+        this.writeLock.lock();
+        try {
+            int from = 0;
+            while (from < entries.length) {
+                if (this.active.size + entries[from].remaining() > this.maxSegmentSize && this.active.size > 0) {
+                    roll();
+                }
+                int to = from + 1;
+                long bytes = entries[from].remaining();
+                while (to < entries.length && this.active.size + bytes + entries[to].remaining() <= this.maxSegmentSize) {
+                    bytes += entries[to++].remaining();
+                }
+                Location[] locations = this.active.append(entries, from, to);
+                for (int i = from; i < to; i++) {
+                    supersede(this.index.put(records.get(i).getId(), locations[i - from]));
+                }
+                from = to;
+            }
+            sequence = ++this.writtenSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.writeLock.unlock();
+        }
+        sync(sequence);
+    }
+
+    int size() {
+        return this.index.size();
+    }
+
+    /**
+     * Compacts every sealed segment whose live records take less than {@link #COMPACTION_THRESHOLD} of its size.
+     */
+    void compact() throws IOException {
+        for (Segment segment : this.segments.values()) {
+            if (segment != this.active && segment.liveRatio() < COMPACTION_THRESHOLD) {
+                compact(segment);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.compactor != null) {
+            // Not interrupted: an interrupt in the middle of a read would close the channel of the segment.
+            this.compactor.shutdown();
+            try {
+                this.compactor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.writeLock.lock();
+        try {
+            this.active.channel.force(false);
+            for (Segment segment : this.segments.values()) {
+                segment.channel.close();
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the writes up to the given sequence are on disk. The first writer that finds no sync in progress syncs
+     * everything written so far, the others wait for it and then check if their write was part of that sync.
+     */
+    private void sync(long sequence) {
+        this.writeLock.lock();
+        try {
+            while (this.syncedSequence < sequence) {
+                if (this.syncing) {
+                    this.synced.awaitUninterruptibly();
+                    continue;
+                }
+                this.syncing = true;
+                long target = this.writtenSequence;
+                FileChannel channel = this.active.channel;
+                this.writeLock.unlock();
+                try {
+                    channel.force(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    this.writeLock.lock();
+                    this.syncing = false;
+                    this.synced.signalAll();
+                }
+                this.syncedSequence = Math.max(this.syncedSequence, target);
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Seals the active segment and starts the next one. Everything written to the sealed segment is synced first, so a
+     * sync in progress on the new segment covers all the previous writes.
+     */
+    private void roll() throws IOException {
+        this.active.channel.force(false);
+        this.syncedSequence = this.writtenSequence;
+        this.active = openSegment(this.active.number + 1);
+    }
+
+    private void supersede(Location previous) {
+        if (previous != null) {
+            previous.segment.liveBytes.addAndGet(-previous.length);
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | UncheckedIOException e) {
+            // The segments are left as they are and the compaction is tried again on the next run.
+        }
+    }
+
+    private void compact(Segment segment) throws IOException {
+        Path compactedPath = segment.path.resolveSibling(segment.path.getFileName() + ".compact");
+        FileChannel compactedChannel = FileChannel.open(compactedPath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment compacted = new Segment(segment.number, segment.path, compactedChannel, 0);
+
+        Map<Integer, Location[]> moves = new HashMap<>();
+        for (Map.Entry<Integer, Location> entry : this.index.entrySet()) {
+            Location location = entry.getValue();
+            if (location.segment == segment) {
+                ByteBuffer buffer = ByteBuffer.allocate(location.length);
+                location.readFully(buffer);
+                buffer.flip();
+                moves.put(entry.getKey(), new Location[]{location, compacted.append(buffer)});
+            }
+        }
+        compactedChannel.force(false);
+        Files.move(compactedPath, segment.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        this.segments.put(segment.number, compacted);
+        moves.forEach((id, move) -> {
+            // A record written again during the compaction keeps its newer location.
+            if (!this.index.replace(id, move[0], move[1])) {
+                supersede(move[1]);
+            }
+        });
+        segment.channel.close();
+        if (compacted.size == 0 || compacted.liveBytes.get() == 0) {
+            this.segments.remove(segment.number, compacted);
+            compacted.channel.close();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    /**
+     * Rebuilds the index from the segments, oldest first, so the last entry of an id wins.
+     */
+    private void recover() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(this.directory)) {
+            // Leftovers of a compaction interrupted by a crash, the segments they were replacing are still complete.
+            for (Path path : files.filter(path -> path.getFileName().toString().endsWith(".compact")).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+        try (Stream<Path> files = Files.list(this.directory)) {
+            paths = files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (int i = 0; i < paths.size(); i++) {
+            Path path = paths.get(i);
+            String fileName = path.getFileName().toString();
+            int number = Integer.parseInt(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+            Segment segment = openSegment(number);
+            long validSize = scan(segment);
+            if (validSize < segment.size) {
+                if (i < paths.size() - 1) {
+                    throw new IOException("Corrupted entry at offset " + validSize + " of the sealed segment " + path);
+                }
+                segment.channel.truncate(validSize);
+                segment.size = validSize;
+            }
+            this.active = segment;
+        }
+        if (this.active == null) {
+            this.active = openSegment(0);
+        }
+    }
+
+    /**
+     * Indexes every valid entry of the segment and returns the offset after the last one.
+     */
+    private long scan(Segment segment) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+        long offset = 0;
+        while (offset + ENTRY_HEADER_SIZE <= segment.size) {
+            header.clear();
+            readFully(segment.channel, header, offset);
+            header.flip();
+            int crc = header.getInt();
+            int id = header.getInt();
+            int nameLength = header.getInt();
+            // Compared as longs: the length of a garbage header can be anything, and must not overflow the check.
+            if (nameLength < -1 || nameLength > segment.size - offset - ENTRY_HEADER_SIZE) {
+                break;
+            }
+            int length = ENTRY_HEADER_SIZE + Math.max(nameLength, 0);
+            ByteBuffer name = ByteBuffer.allocate(Math.max(nameLength, 0));
+            readFully(segment.channel, name, offset + ENTRY_HEADER_SIZE);
+            if (crc != checksum(id, nameLength, name.array())) {
+                break;
+            }
+            Location location = new Location(segment, offset, length);
+            segment.liveBytes.addAndGet(length);
+            supersede(this.index.put(id, location));
+            offset += length;
+        }
+        return offset;
+    }
+
+    private Segment openSegment(int number) throws IOException {
+        Path path = this.directory.resolve(String.format("%010d%s", number, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(number, path, channel, channel.size());
+        this.segments.put(number, segment);
+        return segment;
+    }
+
+    private static ByteBuffer encode(Record record) {
+        byte[] name = record.getName() == null ? new byte[0] : record.getName().getBytes(StandardCharsets.UTF_8);
+        int nameLength = record.getName() == null ? -1 : name.length;
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_SIZE + name.length);
+        entry.putInt(checksum(record.getId(), nameLength, name)).putInt(record.getId()).putInt(nameLength).put(name);
+        entry.flip();
+        return entry;
+    }
+
+    private static int checksum(int id, int nameLength, byte[] name) {
+        CRC32 crc = new CRC32();
+        ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES).putInt(id).putInt(nameLength);
+        crc.update(header.array());
+        crc.update(name);
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of segment at offset " + (position + buffer.position()));
+            }
+        }
+    }
+
+    private static final class Segment {
+
+        private final int number;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicLong liveBytes = new AtomicLong();
+        private long size;
+
+        Segment(int number, Path path, FileChannel channel, long size) {
+            this.number = number;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        Location append(ByteBuffer entry) throws IOException {
+            Location location = new Location(this, this.size, entry.remaining());
+            while (entry.hasRemaining()) {
+                this.size += this.channel.write(entry, this.size);
+            }
+            this.liveBytes.addAndGet(location.length);
+            return location;
+        }
+
+        /**
+         * Appends the entries from index {@code from} to {@code to} (excluded) with a gathering write.
+         */
+        Location[] append(ByteBuffer[] entries, int from, int to) throws IOException {
+            Location[] locations = new Location[to - from];
+            long offset = this.size;
+            for (int i = from; i < to; i++) {
+                locations[i - from] = new Location(this, offset, entries[i].remaining());
+                offset += entries[i].remaining();
+            }
+            long start = this.size;
+            // The other writes are positional, the position of the channel is only used here, under the write lock.
+            this.channel.position(this.size);
+            while (this.size < offset) {
+                this.size += this.channel.write(entries, from, to - from);
+            }
+            this.liveBytes.addAndGet(offset - start);
+            return locations;
+        }
+
+        double liveRatio() {
+            return this.size == 0 ? 1.0d : (double) this.liveBytes.get() / this.size;
+        }
+    }
+
+    private static final class Location {
+
+        private final Segment segment;
+        private final long offset;
+        private final int length;
+
+        Location(Segment segment, long offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        void readFully(ByteBuffer buffer) throws IOException {
+            LogRecordStore.readFully(this.segment.channel, buffer, this.offset);
+        }
+
+        Record read() throws IOException {
+            ByteBuffer entry = ByteBuffer.allocate(this.length);
+            readFully(entry);
+            entry.flip();
+            entry.getInt();
+            int id = entry.getInt();
+            int nameLength = entry.getInt();
+            String name = nameLength < 0
+                    ? null
+                    : new String(entry.array(), ENTRY_HEADER_SIZE, nameLength, StandardCharsets.UTF_8);
+            return new Record(id, name);
+        }
+    }
+}
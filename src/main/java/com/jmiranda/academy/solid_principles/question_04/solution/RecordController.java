@@ -0,0 +1,138 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * REST read path of the {@link Record} entities.
+ * <p>
+ * - The listing is paged by keyset: the client passes the last id of the page it has, instead of an offset the database
+ * would have to skip row by row, and there is no count query.
+ * <p>
+ * - The rows are read as {@link RecordSummary} projections, not as managed entities.
+ * <p>
+ * - A single record has an ETag, the SHA-256 digest of its JSON representation, so it changes whenever the body does. A
+ * client sending it back with If-None-Match gets a 304 without a body.
+ * <p>
+ * - The full export is written to the response while the rows are read from the database, so it runs in constant memory
+ * whatever the number of records.
+ */
+@RestController
+@RequestMapping("/records")
+class RecordController {
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final RecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    RecordController(RecordRepository recordRepository, ObjectMapper objectMapper,
+                     PlatformTransactionManager transactionManager) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @GetMapping
+    RecordPage list(@RequestParam(required = false) Integer after,
+                    @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // Without after, the listing starts from the first record.
+        List<RecordSummary> records = after == null
+                ? this.recordRepository.findByOrderByIdAsc(PageRequest.of(0, size))
+                : this.recordRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, size));
+        Integer next = records.size() < size ? null : records.get(records.size() - 1).getId();
+        return new RecordPage(records, next);
+    }
+
+    @GetMapping("/{id}")
+    ResponseEntity<RecordSummary> get(@PathVariable int id) {
+        RecordSummary record = this.recordRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        // Spring compares the ETag with If-None-Match and answers 304 without writing the body.
+        return ResponseEntity.ok().eTag(etagOf(record)).body(record);
+    }
+
+    @GetMapping("/export")
+    ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> this.readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<RecordSummary> records = this.recordRepository.streamAll();
+                 JsonGenerator json = this.objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                Iterator<RecordSummary> iterator = records.iterator();
+                while (iterator.hasNext()) {
+                    RecordSummary record = iterator.next();
+                    json.writeStartObject();
+                    json.writeNumberField("id", record.getId());
+                    json.writeStringField("name", record.getName());
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private String etagOf(RecordSummary record) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(this.objectMapper.writeValueAsBytes(record));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform implements SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A page of records, and the id to pass as {@code after} to get the next page, null on the last page.
+     */
+    static class RecordPage {
+
+        private final List<RecordSummary> records;
+        private final Integer next;
+
+        RecordPage(List<RecordSummary> records, Integer next) {
+            this.records = records;
+            this.next = next;
+        }
+
+        public List<RecordSummary> getRecords() {
+            return records;
+        }
+
+        public Integer getNext() {
+            return next;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The records are served by the {@link RecordController}, not exported by Spring Data REST, whose listings use offset
+ * paging with a count query on every page.
+ */
+@RepositoryRestResource(exported = false)
+interface RecordRepository extends JpaRepository<Record, Integer> {
+
+    /**
+     * Keyset page: the records after the last id of the previous page, found through the primary key index, whatever
+     * the depth of the page. The {@link Pageable} only limits the number of rows.
+     */
+    List<RecordSummary> findByIdGreaterThanOrderByIdAsc(int id, Pageable pageable);
+
+    /**
+     * First keyset page.
+     */
+    List<RecordSummary> findByOrderByIdAsc(Pageable pageable);
+
+    Optional<RecordSummary> findSummaryById(int id);
+
+    /**
+     * Every record, fetched from the database by blocks of rows while the stream is consumed. Must be consumed and
+     * closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select r.id as id, r.name as name from Record r order by r.id")
+    Stream<RecordSummary> streamAll();
+}
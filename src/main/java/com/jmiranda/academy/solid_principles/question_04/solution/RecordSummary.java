@@ -0,0 +1,12 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+/**
+ * Closed projection of a {@link Record}: the queries returning it select these columns only, without creating and
+ * managing a {@link Record} entity per row.
+ */
+interface RecordSummary {
+
+    int getId();
+
+    String getName();
+}
@@ -1,5 +1,8 @@
 package com.jmiranda.academy.solid_principles.question_04.solution;
 
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -42,17 +45,27 @@ public class Solution {
     }
 }
 
+/**
+ * The record is also a JPA entity, served over REST by the {@link RecordController}.
+ */
+@Entity
+@Table(name = "records")
 class Record {
-    private final int Id;
-    private final String name;
+    @Id
+    private int id;
+    private String name;
+
+    // Required by JPA.
+    protected Record() {
+    }
 
     public Record(int id, String name) {
-        Id = id;
+        this.id = id;
         this.name = name;
     }
 
     public int getId() {
-        return Id;
+        return id;
     }
 
     public String getName() {
@@ -62,7 +75,7 @@ class Record {
     @Override
     public String toString() {
         return "Record{" +
-                "Id=" + Id +
+                "Id=" + id +
                 ", name='" + name + '\'' +
                 '}';
     }
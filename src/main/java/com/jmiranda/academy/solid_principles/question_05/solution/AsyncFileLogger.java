@@ -0,0 +1,140 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * File logger that doesn't write on the thread of the caller.
+ * <p>
+ * {@link #log(String)} only queues the message (see {@link AsyncQueueLogger}). The worker encodes the messages in a
+ * buffer and writes the buffer through a {@link FileChannel} opened once for the life of the logger, when the buffer is
+ * full or when the oldest buffered message has waited for the flush interval. When the queue is full, the
+ * {@link OverflowPolicy} decides whether the caller waits or the message is dropped.
+ * <p>
+ * The write errors are given to an error handler instead of being swallowed, and {@link #close()} writes every message
+ * logged before it returns.
+ */
+class AsyncFileLogger extends AsyncQueueLogger {
+
+    static final int DEFAULT_CAPACITY = 8192;
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 200;
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final long flushIntervalNanos;
+    private final Consumer<IOException> errorHandler;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int flushSize;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final AtomicLong failed = new AtomicLong();
+    private long bufferedSince;
+
+    AsyncFileLogger(String filePath) throws IOException {
+        this(Paths.get(filePath), DEFAULT_CAPACITY, OverflowPolicy.BLOCK, DEFAULT_BUFFER_SIZE,
+                DEFAULT_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS,
+                error -> System.err.println("Failed to write the log file " + filePath + ": " + error));
+    }
+
+    /**
+     * @param capacity     maximum number of messages waiting to be written, a power of two
+     * @param bufferSize   the buffered messages are written once they take this many bytes
+     * @param errorHandler gets the errors of the background writes, the messages of a failed write are lost
+     */
+    AsyncFileLogger(Path path, int capacity, OverflowPolicy overflowPolicy, int bufferSize,
+                    long flushInterval, TimeUnit unit, Consumer<IOException> errorHandler) throws IOException {
+        super("async-file-logger", capacity, overflowPolicy);
+        this.flushIntervalNanos = unit.toNanos(flushInterval);
+        this.errorHandler = errorHandler;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.flushSize = Math.max(bufferSize, 1024);
+        this.buffer = ByteBuffer.allocateDirect(this.flushSize + 4096);
+        start();
+    }
+
+    long getFailedWriteCount() {
+        return this.failed.get();
+    }
+
+    @Override
+    void deliver(String message) {
+        if (this.buffer.position() == 0) {
+            this.bufferedSince = System.nanoTime();
+        }
+        CharBuffer chars = CharBuffer.wrap(message);
+        this.encoder.reset();
+        while (this.encoder.encode(chars, this.buffer, true).isOverflow()) {
+            flush();
+        }
+        if (this.buffer.remaining() < LINE_SEPARATOR.length) {
+            flush();
+        }
+        this.buffer.put(LINE_SEPARATOR);
+        if (this.buffer.position() >= this.flushSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffer once its oldest message has waited for the flush interval, and sleeps until then otherwise.
+     */
+    @Override
+    long onIdle() {
+        if (this.buffer.position() == 0) {
+            return NO_DEADLINE;
+        }
+        long waited = System.nanoTime() - this.bufferedSince;
+        if (waited < this.flushIntervalNanos) {
+            return this.flushIntervalNanos - waited;
+        }
+        flush();
+        return NO_DEADLINE;
+    }
+
+    @Override
+    void onStop() {
+        flush();
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            report(e);
+        }
+    }
+
+    private void flush() {
+        this.buffer.flip();
+        try {
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+        } catch (IOException e) {
+            report(e);
+        } finally {
+            this.buffer.clear();
+        }
+    }
+
+    private void report(IOException error) {
+        this.failed.incrementAndGet();
+        try {
+            this.errorHandler.accept(error);
+        } catch (RuntimeException e) {
+            // A failing handler must not stop the writer thread.
+        }
+    }
+}
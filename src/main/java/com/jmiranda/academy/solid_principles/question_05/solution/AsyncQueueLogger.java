@@ -0,0 +1,207 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Base of the loggers that don't work on the thread of the caller.
+ * <p>
+ * {@link #log(String)} only puts the message in a lock-free {@link MessageRingBuffer}, and a single worker thread takes
+ * the messages one after the other and gives them to {@link #deliver(String)}. When the queue is full, the
+ * {@link OverflowPolicy} decides whether the caller waits, or the new or the oldest message is dropped.
+ * <p>
+ * An idle worker parks until a producer publishes a message and wakes it up (or until the deadline given by
+ * {@link #onIdle()}), so an idle logger costs no CPU. {@link #close()} stops taking messages and returns once every
+ * message accepted by {@link #log(String)} was delivered: the worker only stops when the logger is closed, no producer
+ * is still publishing and the queue is empty, so a message accepted while the logger is closing isn't lost.
+ */
+abstract class AsyncQueueLogger implements ILogger, Closeable {
+
+    /**
+     * Returned by {@link #onIdle()} when the worker can sleep until the next message.
+     */
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static final long FULL_QUEUE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final String name;
+    private final MessageRingBuffer queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread worker;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    // Producers between their check of running and the publication of their message.
+    private final AtomicInteger producers = new AtomicInteger();
+    private volatile boolean running = true;
+    private volatile boolean waiting;
+
+    /**
+     * @param capacity maximum number of messages waiting for the worker, a power of two
+     */
+    AsyncQueueLogger(String name, int capacity, OverflowPolicy overflowPolicy) {
+        this.name = name;
+        this.queue = new MessageRingBuffer(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.worker = new Thread(this::workLoop, name);
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Starts the worker, called by the subclass once it is fully built.
+     */
+    final void start() {
+        this.worker.start();
+    }
+
+    @Override
+    public final void log(final String message) {
+        this.producers.incrementAndGet();
+        try {
+            if (!this.running) {
+                throw new IllegalStateException("The logger " + this.name + " is closed");
+            }
+            if (this.queue.offer(message)) {
+                return;
+            }
+            switch (this.overflowPolicy) {
+                case DROP:
+                    this.dropped.incrementAndGet();
+                    return;
+                case DROP_OLDEST:
+                    replaceOldest(message);
+                    return;
+                case SAMPLE_DROP_OLDEST:
+                    if (sampled()) {
+                        replaceOldest(message);
+                    } else {
+                        this.dropped.incrementAndGet();
+                    }
+                    return;
+                case SAMPLE:
+                    if (!sampled()) {
+                        this.dropped.incrementAndGet();
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            while (!this.queue.offer(message)) {
+                LockSupport.unpark(this.worker);
+                LockSupport.parkNanos(FULL_QUEUE_PARK_NANOS);
+            }
+        } finally {
+            this.producers.decrementAndGet();
+            if (this.waiting) {
+                LockSupport.unpark(this.worker);
+            }
+        }
+    }
+
+    /**
+     * Stops taking messages and waits until the worker delivered the ones already accepted.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.worker);
+        boolean interrupted = false;
+        while (this.worker.isAlive()) {
+            try {
+                this.worker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    OverflowPolicy getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    /**
+     * Messages waiting for the worker.
+     */
+    int getQueueSize() {
+        return this.queue.size();
+    }
+
+    long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Handles a message, on the worker thread.
+     */
+    abstract void deliver(String message);
+
+    /**
+     * Called on the worker thread when the queue is empty, before it sleeps. Returns how many nanoseconds the worker can
+     * sleep before it has to call it again, or {@link #NO_DEADLINE}.
+     */
+    long onIdle() {
+        return NO_DEADLINE;
+    }
+
+    /**
+     * Called on the worker thread once every message was delivered, before the worker stops.
+     */
+    void onStop() {
+    }
+
+    /**
+     * Whether the message rejected by a full queue is the one out of {@link OverflowPolicy#SAMPLE_RATE} that goes
+     * through.
+     */
+    private boolean sampled() {
+        return this.rejected.incrementAndGet() % OverflowPolicy.SAMPLE_RATE == 0;
+    }
+
+    /**
+     * Drops the oldest messages until the given one fits, without waiting for the worker.
+     */
+    private void replaceOldest(String message) {
+        do {
+            if (this.queue.poll() != null) {
+                this.dropped.incrementAndGet();
+            }
+        } while (!this.queue.offer(message));
+    }
+
+    private void workLoop() {
+        while (true) {
+            String message = this.queue.poll();
+            if (message != null) {
+                deliver(message);
+                continue;
+            }
+            // Read in this order: a producer that saw the logger running is counted before running is cleared.
+            if (!this.running && this.producers.get() == 0 && this.queue.isEmpty()) {
+                break;
+            }
+            long deadline = onIdle();
+            this.waiting = true;
+            // Checked again after waiting is set: a producer publishing from now on sees it and unparks the worker.
+            if (this.queue.isEmpty() && (this.running || this.producers.get() > 0)) {
+                if (deadline == NO_DEADLINE) {
+                    LockSupport.park(this);
+                } else if (deadline > 0) {
+                    LockSupport.parkNanos(this, deadline);
+                }
+            }
+            this.waiting = false;
+        }
+        onStop();
+    }
+}
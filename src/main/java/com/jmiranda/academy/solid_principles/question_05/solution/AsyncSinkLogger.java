@@ -0,0 +1,59 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs any {@link ILogger} on its own thread, behind its own bounded queue.
+ * <p>
+ * The caller only puts the message in the queue of the {@link AsyncQueueLogger}, the worker of the sink takes the
+ * messages one after the other and gives them to the sink. A slow sink only makes its own queue grow, and once the queue
+ * is full its {@link OverflowPolicy} decides what happens to the new messages. An exception of the sink is counted and
+ * doesn't stop the worker.
+ * <p>
+ * The lag (messages waiting in the queue), and the number of messages delivered, dropped and failed, tell how the sink is
+ * keeping up.
+ */
+class AsyncSinkLogger extends AsyncQueueLogger {
+
+    static final int DEFAULT_CAPACITY = 8192;
+
+    private final ILogger sink;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    AsyncSinkLogger(String name, ILogger sink, OverflowPolicy overflowPolicy) {
+        this(name, sink, DEFAULT_CAPACITY, overflowPolicy);
+    }
+
+    /**
+     * @param capacity maximum number of messages waiting for the sink, a power of two
+     */
+    AsyncSinkLogger(String name, ILogger sink, int capacity, OverflowPolicy overflowPolicy) {
+        super(name, capacity, overflowPolicy);
+        this.sink = sink;
+        start();
+    }
+
+    int getLag() {
+        return getQueueSize();
+    }
+
+    long getDeliveredCount() {
+        return this.delivered.get();
+    }
+
+    long getFailedCount() {
+        return this.failed.get();
+    }
+
+    @Override
+    void deliver(String message) {
+        try {
+            this.sink.log(message);
+            this.delivered.incrementAndGet();
+        } catch (RuntimeException e) {
+            this.failed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import java.nio.DoubleBuffer;
+import java.util.stream.IntStream;
+
+/**
+ * The loops behind the bulk operations of {@link MathOperations}.
+ * <p>
+ * There is one plain loop per operation over whole arrays, with the operation chosen once before the loop and nothing
+ * else in its body, the shape the JIT compiler turns into SIMD instructions. The parallel variant splits the arrays in
+ * chunks computed by the common fork-join pool.
+ */
+final class BulkArithmetic {
+
+    static final int PARALLEL_CHUNK_SIZE = 1 << 16;
+
+    private BulkArithmetic() {
+    }
+
+    static void apply(Operation operation, double[] a, double[] b, double[] result) {
+        checkLengths(a.length, b.length, result.length);
+        apply(operation, a, 0, b, 0, result, 0, a.length);
+    }
+
+    static void applyParallel(Operation operation, double[] a, double[] b, double[] result) {
+        checkLengths(a.length, b.length, result.length);
+        int chunks = (a.length + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * PARALLEL_CHUNK_SIZE;
+            int length = Math.min(PARALLEL_CHUNK_SIZE, a.length - from);
+            apply(operation, a, from, b, from, result, from, length);
+        });
+    }
+
+    /**
+     * Works on the remaining elements of the buffers, whose positions are advanced past them. Buffers backed by arrays go
+     * through the array loops.
+     */
+    static void apply(Operation operation, DoubleBuffer a, DoubleBuffer b, DoubleBuffer result) {
+        int length = a.remaining();
+        checkLengths(length, b.remaining(), result.remaining());
+        if (a.hasArray() && b.hasArray() && result.hasArray() && !result.isReadOnly()) {
+            apply(operation, a.array(), a.arrayOffset() + a.position(), b.array(), b.arrayOffset() + b.position(),
+                    result.array(), result.arrayOffset() + result.position(), length);
+        } else if (operation == Operation.ADD) {
+            for (int i = 0; i < length; i++) {
+                result.put(result.position() + i, a.get(a.position() + i) + b.get(b.position() + i));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                result.put(result.position() + i, a.get(a.position() + i) - b.get(b.position() + i));
+            }
+        }
+        a.position(a.position() + length);
+        b.position(b.position() + length);
+        result.position(result.position() + length);
+    }
+
+    private static void apply(Operation operation, double[] a, int aFrom, double[] b, int bFrom,
+                              double[] result, int resultFrom, int length) {
+        if (operation == Operation.ADD) {
+            for (int i = 0; i < length; i++) {
+                result[resultFrom + i] = a[aFrom + i] + b[bFrom + i];
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                result[resultFrom + i] = a[aFrom + i] - b[bFrom + i];
+            }
+        }
+    }
+
+    private static void checkLengths(int a, int b, int result) {
+        if (a != b || a != result) {
+            throw new IllegalArgumentException("The operands and the result must have the same length: "
+                    + a + ", " + b + ", " + result);
+        }
+    }
+}
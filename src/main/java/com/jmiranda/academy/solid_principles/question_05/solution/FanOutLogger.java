@@ -0,0 +1,54 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Composite logger that sends every message to several sinks at the same time (the screen, a file, a metrics sink...).
+ * <p>
+ * Every sink is isolated behind its own {@link AsyncSinkLogger}, with its own queue and worker, so a slow or failing sink
+ * never stalls the caller nor the other sinks. {@link #log(String)} offers the message to every sink on the thread of
+ * the caller, so each sink picks what its full queue drops without waiting: the new message
+ * ({@link OverflowPolicy#DROP}), the oldest one ({@link OverflowPolicy#DROP_OLDEST}), or all but a sample of the new ones
+ * ({@link OverflowPolicy#SAMPLE_DROP_OLDEST}). A sink whose policy can make the caller wait
+ * ({@link OverflowPolicy#blocksCaller()}) is rejected.
+ */
+class FanOutLogger implements ILogger, Closeable {
+
+    private final List<AsyncSinkLogger> sinks;
+
+    FanOutLogger(List<AsyncSinkLogger> sinks) {
+        for (AsyncSinkLogger sink : sinks) {
+            if (sink.getOverflowPolicy().blocksCaller()) {
+                throw new IllegalArgumentException("The sink " + sink.getName() + " has the overflow policy "
+                        + sink.getOverflowPolicy() + ", which can block the caller");
+            }
+        }
+        this.sinks = Collections.unmodifiableList(new ArrayList<>(sinks));
+    }
+
+    FanOutLogger(AsyncSinkLogger... sinks) {
+        this(List.of(sinks));
+    }
+
+    @Override
+    public void log(final String message) {
+        for (AsyncSinkLogger sink : this.sinks) {
+            sink.log(message);
+        }
+    }
+
+    /**
+     * The sinks, to read their lag and their delivered, dropped and failed counters.
+     */
+    List<AsyncSinkLogger> getSinks() {
+        return this.sinks;
+    }
+
+    @Override
+    public void close() {
+        this.sinks.forEach(AsyncSinkLogger::close);
+    }
+}
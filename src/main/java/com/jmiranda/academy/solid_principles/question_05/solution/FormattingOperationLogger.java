@@ -0,0 +1,34 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+/**
+ * Adapter from the structured {@link IOperationLogger} to a text {@link ILogger}. The message is only formatted once the
+ * logger is enabled and an operation is actually logged.
+ */
+class FormattingOperationLogger implements IOperationLogger {
+
+    private final ILogger logger;
+    private volatile boolean enabled = true;
+
+    FormattingOperationLogger(ILogger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void log(final Operation operation, final double a, final double b, final double result) {
+        this.logger.log(a + " " + operation.getSymbol() + " " + b + " = " + result);
+    }
+
+    @Override
+    public void logBatch(final Operation operation, final int count) {
+        this.logger.log(operation + " of " + count + " values");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
@@ -0,0 +1,22 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+/**
+ * Structured logger of the {@link MathOperations}: it gets the operation and its operands as primitives instead of a
+ * message, so nothing is formatted (nor allocated) unless the logger really writes text. The callers check
+ * {@link #isEnabled()} first, a disabled logger costs a single read.
+ */
+@FunctionalInterface
+interface IOperationLogger {
+
+    void log(final Operation operation, final double a, final double b, final double result);
+
+    /**
+     * Summary of a bulk operation over {@code count} pairs of operands. Ignored unless the logger supports it.
+     */
+    default void logBatch(final Operation operation, final int count) {
+    }
+
+    default boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,109 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import com.jmiranda.academy.metrics.AcademyMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ILogger} decorator timing {@link ILogger#log(String)} (academy.logger, tagged by the class of the logger). For
+ * the asynchronous loggers, the timer measures what the caller waits for, the enqueueing, and the depth of their queues
+ * and their dropped and failed messages are registered as gauges and counters read from the logger itself:
+ * <ul>
+ * <li>{@link AsyncFileLogger}: academy.logger.queue, academy.logger.dropped and academy.logger.failed, with the sink
+ * tag "file".</li>
+ * <li>{@link AsyncSinkLogger}, alone or behind a {@link FanOutLogger}: the same, tagged by sink name.</li>
+ * </ul>
+ * Prometheus needs the same tag keys on every meter of a name, hence the sink tag on the file logger. The gauges only
+ * hold weak references to the loggers.
+ */
+class InstrumentedLogger implements ILogger, Closeable {
+
+    private final ILogger delegate;
+    private final Timer timer;
+
+    private InstrumentedLogger(ILogger delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.timer = Timer.builder("academy.logger")
+                .description("Messages logged")
+                .tag("logger", delegate.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Returns the logger itself when metrics are disabled.
+     */
+    static ILogger instrument(ILogger logger) {
+        MeterRegistry registry = AcademyMetrics.registry();
+        if (registry == null || logger instanceof InstrumentedLogger) {
+            return logger;
+        }
+        if (logger instanceof AsyncFileLogger) {
+            registerQueue(registry, (AsyncFileLogger) logger);
+        } else if (logger instanceof AsyncSinkLogger) {
+            registerSink(registry, (AsyncSinkLogger) logger);
+        } else if (logger instanceof FanOutLogger) {
+            ((FanOutLogger) logger).getSinks().forEach(sink -> registerSink(registry, sink));
+        }
+        return new InstrumentedLogger(logger, registry);
+    }
+
+    @Override
+    public void log(final String message) {
+        long start = System.nanoTime();
+        try {
+            this.delegate.log(message);
+        } finally {
+            this.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.delegate instanceof Closeable) {
+            ((Closeable) this.delegate).close();
+        }
+    }
+
+    private static void registerQueue(MeterRegistry registry, AsyncFileLogger logger) {
+        Gauge.builder("academy.logger.queue", logger, AsyncFileLogger::getQueueSize)
+                .description("Messages waiting to be written")
+                .tag("logger", "AsyncFileLogger")
+                .tag("sink", "file")
+                .register(registry);
+        FunctionCounter.builder("academy.logger.dropped", logger, AsyncFileLogger::getDroppedCount)
+                .description("Messages dropped because the queue was full")
+                .tag("logger", "AsyncFileLogger")
+                .tag("sink", "file")
+                .register(registry);
+        FunctionCounter.builder("academy.logger.failed", logger, AsyncFileLogger::getFailedWriteCount)
+                .description("Writes that failed")
+                .tag("logger", "AsyncFileLogger")
+                .tag("sink", "file")
+                .register(registry);
+    }
+
+    private static void registerSink(MeterRegistry registry, AsyncSinkLogger sink) {
+        Gauge.builder("academy.logger.queue", sink, AsyncSinkLogger::getLag)
+                .description("Messages waiting to be delivered")
+                .tag("logger", "AsyncSinkLogger")
+                .tag("sink", sink.getName())
+                .register(registry);
+        FunctionCounter.builder("academy.logger.dropped", sink, AsyncSinkLogger::getDroppedCount)
+                .description("Messages dropped because the queue was full")
+                .tag("logger", "AsyncSinkLogger")
+                .tag("sink", sink.getName())
+                .register(registry);
+        FunctionCounter.builder("academy.logger.failed", sink, AsyncSinkLogger::getFailedCount)
+                .description("Messages the sink failed to write")
+                .tag("logger", "AsyncSinkLogger")
+                .tag("sink", sink.getName())
+                .register(registry);
+    }
+}
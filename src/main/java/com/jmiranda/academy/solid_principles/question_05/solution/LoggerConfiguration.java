@@ -0,0 +1,21 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import com.jmiranda.academy.metrics.AcademyMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * Publishes the {@link ILogger} of the application: a {@link FanOutLogger} writing to the screen from its own worker,
+ * instrumented when metrics are enabled. It is closed, and its queue drained, with the context.
+ */
+@Configuration(proxyBeanMethods = false)
+class LoggerConfiguration {
+
+    @Bean
+    @DependsOn(AcademyMetrics.BINDING_BEAN)
+    ILogger academyLogger() {
+        return InstrumentedLogger.instrument(
+                new FanOutLogger(new AsyncSinkLogger("screen", new ScreenLogger(), OverflowPolicy.DROP)));
+    }
+}
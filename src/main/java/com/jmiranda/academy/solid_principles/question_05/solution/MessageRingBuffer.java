@@ -0,0 +1,95 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue of messages for many producers and consumers.
+ * <p>
+ * Every slot of the ring has a sequence number telling whether it is free for the producer of a given position or holds
+ * the message of the consumer position. The producers claim a position with a compare-and-set on the tail and publish the
+ * message by advancing the sequence of the slot, a consumer claims the head the same way, takes the message and gives
+ * the slot back by advancing the sequence by one lap. Nobody ever blocks, a full ring just refuses the message. The
+ * queue usually has a single consumer, the worker of a logger, but a producer can also take the oldest message to make
+ * room for its own.
+ */
+final class MessageRingBuffer {
+
+    private final AtomicReferenceArray<String> messages;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    MessageRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of two: " + capacity);
+        }
+        this.messages = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Adds the message, or returns false if the ring is full. Safe to call from any thread.
+     */
+    boolean offer(String message) {
+        long position = this.tail.get();
+        while (true) {
+            int slot = (int) position & this.mask;
+            long difference = this.sequences.get(slot) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.messages.lazySet(slot, message);
+                    this.sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = this.tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest message, or returns null if there is none. Safe to call from any thread.
+     */
+    String poll() {
+        long position = this.head.get();
+        while (true) {
+            int slot = (int) position & this.mask;
+            long difference = this.sequences.get(slot) - (position + 1);
+            if (difference == 0) {
+                if (this.head.compareAndSet(position, position + 1)) {
+                    String message = this.messages.get(slot);
+                    this.messages.lazySet(slot, null);
+                    this.sequences.set(slot, position + this.mask + 1);
+                    return message;
+                }
+                position = this.head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = this.head.get();
+            }
+        }
+    }
+
+    int size() {
+        return (int) Math.max(0, this.tail.get() - this.head.get());
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return this.mask + 1;
+    }
+}
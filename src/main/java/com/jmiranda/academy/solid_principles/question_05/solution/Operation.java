@@ -0,0 +1,19 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+/**
+ * The arithmetic operations logged by {@link MathOperations}.
+ */
+enum Operation {
+    ADD('+'),
+    SUBTRACT('-');
+
+    private final char symbol;
+
+    Operation(char symbol) {
+        this.symbol = symbol;
+    }
+
+    char getSymbol() {
+        return symbol;
+    }
+}
@@ -0,0 +1,39 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+/**
+ * What an asynchronous logger does with a message when its queue is full.
+ */
+enum OverflowPolicy {
+    /**
+     * The caller waits until there is room for the message, nothing is lost but the caller slows down with the sink.
+     */
+    BLOCK,
+    /**
+     * The message is dropped, the caller never waits.
+     */
+    DROP,
+    /**
+     * Only one message out of {@link #SAMPLE_RATE} waits for room, the others are dropped, so some messages keep going
+     * through under pressure while the caller rarely waits.
+     */
+    SAMPLE,
+    /**
+     * The oldest message waiting in the queue is dropped to make room for the new one, the caller never waits. Under
+     * pressure the sink gets the latest messages rather than the first ones.
+     */
+    DROP_OLDEST,
+    /**
+     * Like {@link #SAMPLE}, one message out of {@link #SAMPLE_RATE} goes through under pressure, but it takes the room of
+     * the oldest message waiting instead of waiting for room, so the caller never waits.
+     */
+    SAMPLE_DROP_OLDEST;
+
+    static final int SAMPLE_RATE = 100;
+
+    /**
+     * Whether a full queue can make the caller wait.
+     */
+    boolean blocksCaller() {
+        return this == BLOCK || this == SAMPLE;
+    }
+}
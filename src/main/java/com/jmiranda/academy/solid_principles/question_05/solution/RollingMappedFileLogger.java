@@ -0,0 +1,352 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * File logger that writes through a memory-mapped region of a pre-allocated file, and rolls the file over when it is
+ * full or old enough.
+ * <p>
+ * The active file is allocated at its maximum size and mapped once, so logging a message is a copy into memory: no system
+ * call, and no file growing on the way. The next file is allocated and mapped in advance by a background thread, so when
+ * the message doesn't fit anymore, or when the rotation interval has elapsed, the caller only switches to the next
+ * mapping. The background thread then syncs the previous file, cuts it to what was written, renames it with a timestamp
+ * and compresses it, and gives the name of the log to the new active file, which was created under a temporary name.
+ * Only the last {@code maxArchives} compressed files are kept, so the disk used is bounded.
+ * <p>
+ * The mapping of a rotated file is only touched by the background thread, before the file is cut, and then dropped: the
+ * mappings are released by the garbage collector, Java has no way to unmap them explicitly. The files left by a
+ * previous run (pre-allocated, so ending with zeros) are trimmed and archived on start.
+ * <p>
+ * The errors of the background work are counted and given to an error handler, like the write errors of the
+ * {@link AsyncFileLogger}.
+ */
+class RollingMappedFileLogger implements ILogger, Closeable {
+
+    static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    static final int DEFAULT_MAX_ARCHIVES = 10;
+
+    private static final DateTimeFormatter ARCHIVE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final String ARCHIVE_SUFFIX = ".gz";
+    private static final String NEXT_SUFFIX = ".next";
+
+    private final Path path;
+    private final long segmentSize;
+    private final long rotationIntervalNanos;
+    private final int maxArchives;
+    private final ExecutorService compressor;
+    private final Consumer<IOException> errorHandler;
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicReference<Segment> prepared = new AtomicReference<>();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private Segment active;
+    private long openedAt;
+    private int rotations;
+
+    RollingMappedFileLogger(String filePath) throws IOException {
+        this(Path.of(filePath), DEFAULT_SEGMENT_SIZE, 1, TimeUnit.DAYS, DEFAULT_MAX_ARCHIVES,
+                error -> System.err.println(error.getMessage() + ": " + error.getCause()));
+    }
+
+    /**
+     * @param errorHandler gets the errors of the background rotation, compression and clean-up of the archives
+     */
+    RollingMappedFileLogger(Path path, long segmentSize, long rotationInterval, TimeUnit unit, int maxArchives,
+                            Consumer<IOException> errorHandler) throws IOException {
+        if (segmentSize < 1024 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        this.path = path.toAbsolutePath();
+        this.segmentSize = segmentSize;
+        this.rotationIntervalNanos = unit.toNanos(rotationInterval);
+        this.maxArchives = maxArchives;
+        this.errorHandler = errorHandler;
+        this.compressor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rolling-log-compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        archiveLeftovers();
+        this.active = Segment.create(this.path, segmentSize);
+        this.openedAt = System.nanoTime();
+        this.compressor.execute(this::prepareQuietly);
+    }
+
+    /**
+     * Messages longer than a whole file are cut at the end of the file.
+     */
+    @Override
+    public synchronized void log(final String message) {
+        if (this.active == null) {
+            throw new IllegalStateException("The logger is closed");
+        }
+        try {
+            if (System.nanoTime() - this.openedAt >= this.rotationIntervalNanos) {
+                rotate();
+            }
+            boolean empty = this.active.mapped.position() == 0;
+            if (!write(message) && !empty) {
+                rotate();
+                write(message);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.active == null) {
+            return;
+        }
+        Segment last = this.active;
+        this.active = null;
+        try {
+            last.mapped.force();
+            last.channel.truncate(last.mapped.position());
+            last.channel.close();
+        } finally {
+            last.mapped = null;
+            this.compressor.shutdown();
+            try {
+                this.compressor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Segment unused = this.prepared.getAndSet(null);
+            if (unused != null) {
+                unused.channel.close();
+                Files.deleteIfExists(unused.file);
+            }
+        }
+    }
+
+    long getFailedArchiveCount() {
+        return this.failed.get();
+    }
+
+    /**
+     * Encodes the message and a line separator into the mapping, returns false if they don't fit. The mapping is left
+     * as it was when the message doesn't fit.
+     */
+    private boolean write(String message) {
+        MappedByteBuffer mapped = this.active.mapped;
+        int start = mapped.position();
+        this.encoder.reset();
+        if (this.encoder.encode(CharBuffer.wrap(message), mapped, true).isOverflow()
+                || this.encoder.encode(CharBuffer.wrap(System.lineSeparator()), mapped, true).isOverflow()) {
+            if (start > 0) {
+                mapped.position(start);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Switches to the next file, mapped in advance, and leaves the previous one to the background thread. Only when
+     * the rotations come faster than the background thread can prepare the files, the next one is mapped here.
+     */
+    private void rotate() throws IOException {
+        Segment next = this.prepared.getAndSet(null);
+        if (next == null) {
+            next = Segment.create(this.path.resolveSibling(this.path.getFileName() + NEXT_SUFFIX + "-" + this.rotations),
+                    this.segmentSize);
+        }
+        Segment previous = this.active;
+        int size = previous.mapped.position();
+        Path archived = archivePath();
+        this.active = next;
+        this.openedAt = System.nanoTime();
+        Segment current = next;
+        this.compressor.execute(() -> retire(previous, size, current, archived));
+    }
+
+    /**
+     * On the background thread: syncs, cuts and archives the previous file, gives the name of the log to the new active
+     * file, prepares the next one and compresses the archive.
+     */
+    private void retire(Segment previous, int size, Segment current, Path archived) {
+        try {
+            previous.mapped.force();
+            previous.channel.truncate(size);
+            previous.channel.close();
+            previous.mapped = null;
+            Files.move(previous.file, archived);
+            Files.move(current.file, this.path);
+            current.file = this.path;
+        } catch (IOException e) {
+            report(new IOException("Failed to roll the log file " + this.path + " over", e));
+            return;
+        }
+        prepareQuietly();
+        compress(archived);
+    }
+
+    /**
+     * Creates and maps the next file in advance, under a temporary name, unless one is already waiting.
+     */
+    private void prepareQuietly() {
+        if (this.prepared.get() != null) {
+            return;
+        }
+        try {
+            this.prepared.set(Segment.create(this.path.resolveSibling(this.path.getFileName() + NEXT_SUFFIX),
+                    this.segmentSize));
+        } catch (IOException e) {
+            report(new IOException("Failed to prepare the next log file of " + this.path, e));
+        }
+    }
+
+    private Path archivePath() {
+        return this.path.resolveSibling(this.path.getFileName() + "."
+                + LocalDateTime.now().format(ARCHIVE_TIMESTAMP) + "." + String.format("%06d", this.rotations++));
+    }
+
+    /**
+     * Trims and archives the log and the next files left by a previous run, oldest first, and deletes the empty ones.
+     */
+    private void archiveLeftovers() throws IOException {
+        String next = this.path.getFileName() + NEXT_SUFFIX;
+        List<Path> leftovers;
+        try (Stream<Path> files = Files.list(this.path.getParent())) {
+            leftovers = files.filter(file -> file.getFileName().toString().startsWith(next))
+                    .sorted((first, second) -> compareAge(first, second))
+                    .collect(Collectors.toList());
+        }
+        if (Files.exists(this.path)) {
+            leftovers.add(0, this.path);
+        }
+        for (Path leftover : leftovers) {
+            long size = trimmedSize(leftover);
+            if (size == 0) {
+                Files.delete(leftover);
+                continue;
+            }
+            try (FileChannel file = FileChannel.open(leftover, StandardOpenOption.WRITE)) {
+                file.truncate(size);
+            }
+            Path archived = archivePath();
+            Files.move(leftover, archived);
+            this.compressor.execute(() -> compress(archived));
+        }
+    }
+
+    private void compress(Path archived) {
+        Path compressed = archived.resolveSibling(archived.getFileName() + ARCHIVE_SUFFIX);
+        try (InputStream in = Files.newInputStream(archived);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            report(new IOException("Failed to compress the log file " + archived, e));
+            return;
+        }
+        try {
+            Files.delete(archived);
+            deleteOldArchives();
+        } catch (IOException e) {
+            report(new IOException("Failed to clean up the log files of " + this.path, e));
+        }
+    }
+
+    private void report(IOException error) {
+        this.failed.incrementAndGet();
+        try {
+            this.errorHandler.accept(error);
+        } catch (RuntimeException e) {
+            // A failing handler must not stop the compressor thread.
+        }
+    }
+
+    /**
+     * The names of the archives sort by age: a timestamp, then the number of the rotation.
+     */
+    private void deleteOldArchives() throws IOException {
+        String prefix = this.path.getFileName() + ".";
+        List<Path> archives;
+        try (Stream<Path> files = Files.list(this.path.getParent())) {
+            archives = files.filter(file -> file.getFileName().toString().startsWith(prefix)
+                            && file.getFileName().toString().endsWith(ARCHIVE_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (int i = 0; i < archives.size() - this.maxArchives; i++) {
+            Files.deleteIfExists(archives.get(i));
+        }
+    }
+
+    private static int compareAge(Path first, Path second) {
+        try {
+            return Files.getLastModifiedTime(first).compareTo(Files.getLastModifiedTime(second));
+        } catch (IOException e) {
+            return first.compareTo(second);
+        }
+    }
+
+    /**
+     * Size of a file left by a previous run without the zeros of its pre-allocation.
+     */
+    private static long trimmedSize(Path leftover) throws IOException {
+        try (FileChannel file = FileChannel.open(leftover, StandardOpenOption.READ)) {
+            long size = file.size();
+            if (size == 0) {
+                return 0;
+            }
+            MappedByteBuffer content = file.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, Integer.MAX_VALUE));
+            int end = content.limit();
+            while (end > 0 && content.get(end - 1) == 0) {
+                end--;
+            }
+            return end;
+        }
+    }
+
+    /**
+     * A pre-allocated file and its mapping. The file is renamed, and the mapping dropped, by the background thread.
+     */
+    private static final class Segment {
+
+        private final FileChannel channel;
+        private volatile Path file;
+        private volatile MappedByteBuffer mapped;
+
+        private Segment(Path file, FileChannel channel, MappedByteBuffer mapped) {
+            this.file = file;
+            this.channel = channel;
+            this.mapped = mapped;
+        }
+
+        static Segment create(Path file, long size) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            return new Segment(file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.jmiranda.academy.solid_principles.question_05.solution;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.DoubleBuffer;
 
 /**
  * Dependency inversion: The implementation of this principle relies on a level of abstraction in the form of a common interface
@@ -47,25 +48,75 @@ public class Solution {
 }
 
 
+// The operations are logged through the structured IOperationLogger, so the message is only built when the logger is
+// enabled, and not at all with a garbage-free sink like WriterOperationLogger.
 class MathOperations {
 
-    private final ILogger logger;
+    private final IOperationLogger logger;
 
     public MathOperations(ILogger logger) {
+        this(new FormattingOperationLogger(logger));
+    }
+
+    public MathOperations(IOperationLogger logger) {
         this.logger = logger;
     }
 
     double add(final double a, final double b) {
         double result = a + b;
-        this.logger.log(a + " + " + b + " = " + result);
+        if (this.logger.isEnabled()) {
+            this.logger.log(Operation.ADD, a, b, result);
+        }
         return result;
     }
 
     double subtract(final double a, final double b) {
         double result = a - b;
-        this.logger.log(a + " - " + b + " = " + result);
+        if (this.logger.isEnabled()) {
+            this.logger.log(Operation.SUBTRACT, a, b, result);
+        }
         return result;
     }
+
+    // The bulk operations work on whole arrays (see BulkArithmetic) and log one summary per batch, not one line per element.
+
+    void add(final double[] a, final double[] b, final double[] result) {
+        BulkArithmetic.apply(Operation.ADD, a, b, result);
+        logBatch(Operation.ADD, result.length);
+    }
+
+    void subtract(final double[] a, final double[] b, final double[] result) {
+        BulkArithmetic.apply(Operation.SUBTRACT, a, b, result);
+        logBatch(Operation.SUBTRACT, result.length);
+    }
+
+    void parallelAdd(final double[] a, final double[] b, final double[] result) {
+        BulkArithmetic.applyParallel(Operation.ADD, a, b, result);
+        logBatch(Operation.ADD, result.length);
+    }
+
+    void parallelSubtract(final double[] a, final double[] b, final double[] result) {
+        BulkArithmetic.applyParallel(Operation.SUBTRACT, a, b, result);
+        logBatch(Operation.SUBTRACT, result.length);
+    }
+
+    void add(final DoubleBuffer a, final DoubleBuffer b, final DoubleBuffer result) {
+        int count = result.remaining();
+        BulkArithmetic.apply(Operation.ADD, a, b, result);
+        logBatch(Operation.ADD, count);
+    }
+
+    void subtract(final DoubleBuffer a, final DoubleBuffer b, final DoubleBuffer result) {
+        int count = result.remaining();
+        BulkArithmetic.apply(Operation.SUBTRACT, a, b, result);
+        logBatch(Operation.SUBTRACT, count);
+    }
+
+    private void logBatch(final Operation operation, final int count) {
+        if (this.logger.isEnabled()) {
+            this.logger.logBatch(operation, count);
+        }
+    }
 }
 
 @FunctionalInterface
@@ -0,0 +1,74 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Garbage-free text sink of the {@link IOperationLogger}.
+ * <p>
+ * The line is formatted into a {@link StringBuilder} and copied into a {@code char[]} that are both reused from one call
+ * to the other, and written to the {@link Writer} from that array, so logging an operation doesn't create any object
+ * once the buffers have grown to the size of a line. The calls are serialized, the buffers are shared.
+ */
+class WriterOperationLogger implements IOperationLogger, Closeable {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Writer writer;
+    private final StringBuilder line = new StringBuilder(64);
+    private char[] chars = new char[64];
+    private volatile boolean enabled = true;
+
+    WriterOperationLogger(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public synchronized void log(final Operation operation, final double a, final double b, final double result) {
+        this.line.setLength(0);
+        this.line.append(a).append(' ').append(operation.getSymbol()).append(' ').append(b)
+                .append(" = ").append(result).append(LINE_SEPARATOR);
+        writeLine();
+    }
+
+    @Override
+    public synchronized void logBatch(final Operation operation, final int count) {
+        this.line.setLength(0);
+        this.line.append(operation.name()).append(" of ").append(count).append(" values").append(LINE_SEPARATOR);
+        writeLine();
+    }
+
+    private void writeLine() {
+        int length = this.line.length();
+        if (this.chars.length < length) {
+            this.chars = Arrays.copyOf(this.chars, Math.max(length, this.chars.length * 2));
+        }
+        this.line.getChars(0, length, this.chars, 0);
+        try {
+            this.writer.write(this.chars, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    synchronized void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.writer.close();
+    }
+}
@@ -0,0 +1,13 @@
+package com.jmiranda.academy;
+
+/**
+ * Startup report of the application without the fast-startup profile, the reference the startupTest task compares the
+ * fast-startup one with.
+ */
+class DefaultProfileStartupReportTest extends StartupReportTest {
+
+    @Override
+    String profile() {
+        return "default";
+    }
+}
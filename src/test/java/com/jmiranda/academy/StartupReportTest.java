@@ -0,0 +1,71 @@
+package com.jmiranda.academy;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the application in the fast-startup profile and reports the startup time and the heap used once it is up, in
+ * startup-fast-startup.properties under the directory of the academy.startupReportDir system property. Run without it,
+ * the report goes to a temporary directory.
+ * <p>
+ * The startup tests are tagged, left out of the test task and run by the startupTest task, in a new JVM per test class,
+ * so no class is already loaded by another test and the figures are the ones of a cold start. The
+ * {@link DefaultProfileStartupReportTest} starts the application without the profile, to compare with.
+ */
+@Tag("startup")
+class StartupReportTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    /**
+     * The profile to start the application with, default for none, which also names the report.
+     */
+    String profile() {
+        return "fast-startup";
+    }
+
+    @Test
+    void reportsStartup() throws IOException {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(AcademyApplication.class)
+                .properties("server.port=0");
+        if (!"default".equals(profile())) {
+            application.profiles(profile());
+        }
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = application.run()) {
+            long startupMillis = (System.nanoTime() - start) / 1_000_000;
+            long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+            assertTrue(context.isActive());
+
+            MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+            Properties report = new Properties();
+            report.setProperty("startup.millis", Long.toString(startupMillis));
+            report.setProperty("jvm.uptime.millis", Long.toString(uptimeMillis));
+            report.setProperty("heap.used.bytes", Long.toString(heap.getUsed()));
+            report.setProperty("heap.committed.bytes", Long.toString(heap.getCommitted()));
+            report.setProperty("beans", Integer.toString(context.getBeanDefinitionCount()));
+
+            String reportDirectory = System.getProperty("academy.startupReportDir");
+            Path reportFile = (reportDirectory == null ? this.temporaryDirectory : Path.of(reportDirectory))
+                    .resolve("startup-" + profile() + ".properties");
+            Files.createDirectories(reportFile.getParent());
+            try (Writer writer = Files.newBufferedWriter(reportFile)) {
+                report.store(writer, "AcademyApplication startup in the " + profile() + " profile");
+            }
+        }
+    }
+}
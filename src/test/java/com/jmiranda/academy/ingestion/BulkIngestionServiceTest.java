@@ -0,0 +1,121 @@
+package com.jmiranda.academy.ingestion;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The service commits its own chunks, so the tests don't run in the transaction a {@link DataJpaTest} opens by default.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkIngestionServiceTest {
+
+    private static final int CHUNK_SIZE = 4;
+    private static final int BATCH_SIZE = 2;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BulkIngestionService ingestionService;
+
+    @BeforeEach
+    void createService() {
+        this.ingestionService = new BulkIngestionService(this.entityManager, this.transactionManager, CHUNK_SIZE, BATCH_SIZE);
+    }
+
+    @AfterEach
+    void deleteItems() {
+        this.jdbcTemplate.update("delete from ingested_items");
+    }
+
+    @Test
+    void everyEntityIsInserted() {
+        List<IngestedItem> items = items(IntStream.rangeClosed(1, 10));
+
+        long inserted = this.ingestionService.ingest(IngestedItem.class, items.iterator());
+
+        assertEquals(10, inserted);
+        assertEquals(10, count());
+    }
+
+    @Test
+    void aFailingChunkIsRolledBackAndTheCommittedOnesStay() {
+        // The 7th item has the id of the 2nd one, so the second chunk (items 5 to 8) fails on its last flush.
+        List<IngestedItem> items = items(IntStream.of(1, 2, 3, 4, 5, 6, 2, 8, 9, 10));
+
+        assertThrows(PersistenceException.class, () -> this.ingestionService.ingest(IngestedItem.class, items.iterator()));
+
+        assertEquals(Arrays.asList(1, 2, 3, 4),
+                this.jdbcTemplate.queryForList("select id from ingested_items order by id", Integer.class));
+    }
+
+    @Test
+    void thePersistenceContextIsClearedAfterEveryBatch() {
+        List<IngestedItem> items = items(IntStream.rangeClosed(1, 10));
+        List<Boolean> previousManaged = new ArrayList<>();
+        Iterator<IngestedItem> iterator = items.iterator();
+        Iterator<IngestedItem> watchingIterator = new Iterator<IngestedItem>() {
+
+            private IngestedItem previous;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public IngestedItem next() {
+                if (this.previous != null) {
+                    previousManaged.add(entityManager.contains(this.previous));
+                }
+                this.previous = iterator.next();
+                return this.previous;
+            }
+        };
+
+        this.ingestionService.ingest(IngestedItem.class, watchingIterator);
+
+        // An item is still managed when the next one is read, unless it ended a batch of 2 (or a chunk of 4).
+        assertEquals(Arrays.asList(true, false, true, false, true, false, true, false, true), previousManaged);
+        assertEquals(10, count());
+    }
+
+    @Test
+    void aTypeThatIsNotAnEntityIsRejectedBeforeAnyInsert() {
+        assertThrows(IllegalArgumentException.class,
+                () -> this.ingestionService.ingest(String.class, Arrays.asList("a", "b").iterator()));
+    }
+
+    private int count() {
+        return this.jdbcTemplate.queryForObject("select count(*) from ingested_items", Integer.class);
+    }
+
+    private static List<IngestedItem> items(IntStream ids) {
+        return ids.mapToObj(id -> new IngestedItem(id, "Item " + id)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,25 @@
+package com.jmiranda.academy.ingestion;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Entity with an assigned id, inserted by the {@link BulkIngestionServiceTest}.
+ */
+@Entity
+@Table(name = "ingested_items")
+class IngestedItem {
+    @Id
+    private int id;
+    private String name;
+
+    // Required by JPA.
+    protected IngestedItem() {
+    }
+
+    IngestedItem(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+}
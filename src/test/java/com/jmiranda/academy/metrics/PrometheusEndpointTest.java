@@ -0,0 +1,36 @@
+package com.jmiranda.academy.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The instrumented beans of the solutions register their meters when they are created, so the academy series are
+ * scraped from the start, before any call.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PrometheusEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void scrapeContainsTheAcademySeries() {
+        ResponseEntity<String> response = this.restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String scrape = response.getBody();
+        assertTrue(scrape.contains("academy_widgets_seconds_count{"), "widget repository timers");
+        assertTrue(scrape.contains("academy_widgets_misses_total{"), "widget repository misses");
+        assertTrue(scrape.contains("academy_payroll_runs_seconds_count"), "payroll run timer");
+        assertTrue(scrape.contains("academy_records_seconds_count{"), "data source timers");
+        assertTrue(scrape.contains("academy_logger_seconds_count{"), "logger timer");
+        assertTrue(scrape.contains("academy_logger_queue{"), "logger queue gauge");
+    }
+}
@@ -0,0 +1,46 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IndexedWidgetRepositoryTest {
+
+    private final WidgetFactory widgetFactory = new WidgetFactory();
+
+    @Test
+    void getWidgetByNameIgnoresCase() {
+        IndexedWidgetRepository repository = new IndexedWidgetRepository();
+        Widget widget = this.widgetFactory.createWidget("Gear");
+        repository.addWidget(widget);
+
+        assertSame(widget, repository.getWidgetByName("gEAR"));
+    }
+
+    @Test
+    void renameKeepsIndexConsistent() {
+        IndexedWidgetRepository repository = new IndexedWidgetRepository();
+        WidgetOperations widgetOperations = new WidgetOperations(repository);
+        Widget widget = this.widgetFactory.createWidget("Gear");
+        repository.addWidget(widget);
+
+        widgetOperations.changeWidgetName(widget, "Spring");
+
+        assertSame(widget, repository.getWidgetByName("spring"));
+        assertThrows(NoSuchElementException.class, () -> repository.getWidgetByName("gear"));
+    }
+
+    @Test
+    void removedWidgetIsNotFound() {
+        IndexedWidgetRepository repository = new IndexedWidgetRepository();
+        Widget widget = this.widgetFactory.createWidget("Gear");
+        repository.addWidget(widget);
+
+        repository.removeWidget(widget);
+
+        assertThrows(NoSuchElementException.class, () -> repository.getWidgetByName("Gear"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffHeapWidgetRepositoryTest {
+
+    private final WidgetFactory widgetFactory = new WidgetFactory();
+
+    @Test
+    void widgetsAreFoundByNameIgnoringCase() {
+        OffHeapWidgetRepository repository = new OffHeapWidgetRepository();
+        repository.addWidget(this.widgetFactory.createWidget("Gear"));
+
+        assertEquals("Gear", repository.getWidgetByName("gEAR").getName());
+    }
+
+    @Test
+    void renameAndRemoveGoThroughTheStore() {
+        OffHeapWidgetRepository repository = new OffHeapWidgetRepository();
+        WidgetOperations widgetOperations = new WidgetOperations(repository);
+        Widget widget = this.widgetFactory.createWidget("Gear");
+        repository.addWidget(widget);
+
+        widgetOperations.changeWidgetName(widget, "Spring");
+
+        assertEquals("Spring", widget.getName());
+        assertEquals("Spring", repository.getWidgetByName("spring").getName());
+        assertThrows(NoSuchElementException.class, () -> repository.getWidgetByName("gear"));
+
+        repository.removeWidget(widget);
+
+        assertEquals(0, repository.size());
+        assertThrows(NoSuchElementException.class, () -> repository.getWidgetByName("spring"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapWidgetStoreTest {
+
+    private final OffHeapWidgetStore store = new OffHeapWidgetStore();
+
+    @Test
+    void identicalNamesAreStoredOnceUntilTheLastWidgetIsRemoved() {
+        int first = this.store.addWidget("Gear");
+        int second = this.store.addWidget("Gear");
+
+        assertEquals(2, this.store.size());
+        assertEquals(1, this.store.nameCount());
+
+        this.store.removeWidget(first);
+        assertEquals(1, this.store.nameCount());
+        assertEquals(second, this.store.getWidgetByName("Gear"));
+
+        this.store.removeWidget(second);
+        assertEquals(0, this.store.nameCount());
+        assertThrows(NoSuchElementException.class, () -> this.store.getWidgetByName("Gear"));
+    }
+
+    @Test
+    void renamingAWidgetToItsOwnNameKeepsTheName() {
+        int handle = this.store.addWidget("Gear");
+
+        this.store.renameWidget(handle, "Gear");
+
+        assertEquals("Gear", this.store.getName(handle));
+        assertEquals(handle, this.store.getWidgetByName("gear"));
+        assertEquals(1, this.store.nameCount());
+    }
+
+    @Test
+    void renameMovesTheWidgetToTheNewName() {
+        int handle = this.store.addWidget("Gear");
+
+        this.store.renameWidget(handle, "Spring");
+
+        assertEquals("Spring", this.store.getName(handle));
+        assertEquals(handle, this.store.getWidgetByName("SPRING"));
+        assertThrows(NoSuchElementException.class, () -> this.store.getWidgetByName("Gear"));
+        assertEquals(1, this.store.nameCount());
+    }
+
+    @Test
+    void removedHandlesAreUnknownUntilReused() {
+        int removed = this.store.addWidget("Gear");
+        this.store.addWidget("Spring");
+
+        this.store.removeWidget(removed);
+
+        assertThrows(IllegalArgumentException.class, () -> this.store.getName(removed));
+        assertThrows(IllegalArgumentException.class, () -> this.store.removeWidget(removed));
+        assertEquals(removed, this.store.addWidget("Bolt"));
+        assertEquals("Bolt", this.store.getName(removed));
+        assertEquals(2, this.store.size());
+    }
+
+    @Test
+    void lookupIgnoresCaseButNamesKeepTheirCase() {
+        int upper = this.store.addWidget("GEAR");
+        int lower = this.store.addWidget("gear");
+
+        assertEquals(2, this.store.nameCount());
+        int found = this.store.getWidgetByName("Gear");
+        assertTrue(found == upper || found == lower);
+        assertEquals("GEAR", this.store.getName(upper));
+        assertEquals("gear", this.store.getName(lower));
+        assertTrue(this.store.removeWidgetNamed("gear"));
+        assertFalse(this.store.removeWidgetNamed("gear"));
+        assertEquals(upper, this.store.getWidgetByName("gear"));
+    }
+
+    @Test
+    void anyStringIsStoredWithoutLoss() {
+        String name = "Grüße 世界 😀 \ud800";
+        int handle = this.store.addWidget(name);
+
+        assertEquals(name, this.store.getName(handle));
+        assertEquals(handle, this.store.getWidgetByName(name));
+    }
+
+    @Test
+    void compactionDropsTheRemovedNamesAndKeepsTheLiveOnes() {
+        int initialCapacity = this.store.arenaCapacity();
+        String padding = "x".repeat(1000);
+        List<Integer> live = new ArrayList<>();
+        // Far more names than the arena can hold at once, but never more than 10 of them live.
+        for (int i = 0; i < 1000; i++) {
+            int handle = this.store.addWidget("Widget " + i + padding);
+            if (i % 100 == 0) {
+                live.add(handle);
+            } else {
+                this.store.removeWidget(handle);
+            }
+        }
+
+        assertEquals(live.size(), this.store.size());
+        assertTrue(this.store.arenaCapacity() <= initialCapacity);
+        for (int i = 0; i < live.size(); i++) {
+            int handle = live.get(i);
+            String name = "Widget " + i * 100 + padding;
+            assertEquals(name, this.store.getName(handle));
+            assertEquals(handle, this.store.getWidgetByName(name));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.jmiranda.academy.solid_principles.question_01.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortedWidgetNameIndexTest {
+
+    private final WidgetFactory widgetFactory = new WidgetFactory();
+
+    private SortedWidgetNameIndex index(String... names) {
+        IndexedWidgetRepository repository = new IndexedWidgetRepository();
+        SortedWidgetNameIndex index = repository.addIndex(new SortedWidgetNameIndex());
+        for (String name : names) {
+            repository.addWidget(this.widgetFactory.createWidget(name));
+        }
+        return index;
+    }
+
+    private static List<String> names(List<Widget> widgets) {
+        return widgets.stream().map(Widget::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    void emptyPrefixReturnsEveryWidgetInOrder() {
+        SortedWidgetNameIndex index = index("Gear", "Bolt", "Spring");
+
+        assertEquals(List.of("Bolt", "Gear", "Spring"), names(index.startingWith("")));
+    }
+
+    @Test
+    void startingWithIgnoresCase() {
+        SortedWidgetNameIndex index = index("Gear", "gearbox", "GEARWHEEL", "Gasket");
+
+        assertEquals(List.of("Gear", "gearbox", "GEARWHEEL"), names(index.startingWith("gEaR")));
+        assertTrue(index.startingWith("Nut").isEmpty());
+    }
+
+    @Test
+    void betweenIncludesFromAndExcludesTo() {
+        SortedWidgetNameIndex index = index("A", "B", "C", "D");
+
+        assertEquals(List.of("B", "C"), names(index.between("b", "D")));
+        assertTrue(index.between("B", "B").isEmpty());
+    }
+
+    @Test
+    void pagesEndWithAShorterThenEmptyPage() {
+        SortedWidgetNameIndex index = index("A", "B", "C", "D", "E");
+
+        assertEquals(List.of("A", "B"), names(index.page(null, 2)));
+        assertEquals(List.of("C", "D"), names(index.page("b", 2)));
+        assertEquals(List.of("E"), names(index.page("D", 2)));
+        assertTrue(index.page("E", 2).isEmpty());
+    }
+
+    @Test
+    void indexFollowsRenamesAndRemovals() {
+        IndexedWidgetRepository repository = new IndexedWidgetRepository();
+        Widget gear = this.widgetFactory.createWidget("Gear");
+        repository.addWidget(gear);
+        Widget bolt = this.widgetFactory.createWidget("Bolt");
+        repository.addWidget(bolt);
+        // Registered after the widgets, it is filled with the existing ones.
+        SortedWidgetNameIndex index = repository.addIndex(new SortedWidgetNameIndex());
+
+        new WidgetOperations(repository).changeWidgetName(gear, "Spring");
+        repository.removeWidget(bolt);
+
+        assertEquals(List.of("Spring"), names(index.startingWith("")));
+    }
+}
@@ -0,0 +1,131 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalPayrollTest {
+
+    private static final double DELTA = 1e-6;
+
+    private final RateRegistry registry = new RateRegistry()
+            .setRate("Junior", 15.25)
+            .setRate("Senior", 17.50);
+    // The employees as the payroll should see them, removed ones are null.
+    private final List<RoleEmployee> employees = new ArrayList<>();
+
+    @Test
+    void hoursChangeMatchesAFullRun() {
+        IncrementalPayroll payroll = payroll(100);
+
+        payroll.setHoursReported(7, 12);
+        this.employees.set(7, employee(7, 12, this.employees.get(7).getRole()));
+
+        assertEquals(1, payroll.run());
+        assertMatchesFullRun(payroll);
+    }
+
+    @Test
+    void addedEmployeeMatchesAFullRun() {
+        IncrementalPayroll payroll = payroll(100);
+
+        int index = payroll.addEmployee(30, code("Senior"));
+        this.employees.add(employee(index, 30, "Senior"));
+
+        assertEquals(1, payroll.run());
+        assertMatchesFullRun(payroll);
+    }
+
+    @Test
+    void removedEmployeeMatchesAFullRun() {
+        IncrementalPayroll payroll = payroll(100);
+
+        payroll.removeEmployee(3);
+        this.employees.set(3, null);
+
+        assertEquals(1, payroll.run());
+        assertEquals(0.0, payroll.getSalary(3));
+        assertMatchesFullRun(payroll);
+    }
+
+    @Test
+    void roleChangeMovesTheSalaryToTheNewRole() {
+        IncrementalPayroll payroll = payroll(100);
+
+        payroll.setRole(4, code("Senior"));
+        this.employees.set(4, employee(4, this.employees.get(4).getHoursReported(), "Senior"));
+
+        assertEquals(1, payroll.run());
+        assertMatchesFullRun(payroll);
+    }
+
+    @Test
+    void rateReloadRecomputesTheRoleOnly() {
+        IncrementalPayroll payroll = payroll(100);
+        // A removed employee of the role stays at zero.
+        payroll.removeEmployee(1);
+        this.employees.set(1, null);
+        payroll.run();
+
+        this.registry.reload(Map.of("Senior", 20.0));
+
+        assertEquals(100, payroll.run());
+        assertMatchesFullRun(payroll);
+    }
+
+    @Test
+    void newRoleMatchesAFullRun() {
+        IncrementalPayroll payroll = payroll(100);
+
+        this.registry.setRate("Principal", 18.75);
+        payroll.setRole(9, code("Principal"));
+        this.employees.set(9, employee(9, this.employees.get(9).getHoursReported(), "Principal"));
+
+        assertEquals(1, payroll.run());
+        assertMatchesFullRun(payroll);
+    }
+
+    private IncrementalPayroll payroll(int count) {
+        for (int i = 0; i < count; i++) {
+            this.employees.add(employee(i, 20 + i % 25, i % 2 == 0 ? "Junior" : "Senior"));
+        }
+        IncrementalPayroll payroll = new IncrementalPayroll(PayrollBatch.fromEmployees(this.employees, this.registry));
+        payroll.run();
+        assertMatchesFullRun(payroll);
+        return payroll;
+    }
+
+    private RoleEmployee employee(int index, int hoursReported, String role) {
+        return new RoleEmployee("Employee " + index, hoursReported, role, this.registry);
+    }
+
+    private int code(String role) {
+        return this.registry.snapshot().codeOf(role);
+    }
+
+    private void assertMatchesFullRun(IncrementalPayroll payroll) {
+        List<Employee> current = new ArrayList<>();
+        this.employees.forEach(employee -> {
+            if (employee != null) {
+                current.add(employee);
+            }
+        });
+        PayrollResult expected = new PayrollEngine(new ForkJoinPool(2), 16).run(current);
+
+        assertEquals(expected.getTotal(), payroll.getTotal(), DELTA);
+        RateTable rates = this.registry.snapshot();
+        for (int role = 0; role < rates.size(); role++) {
+            double roleTotal = expected.getTotalsByRole().getOrDefault(rates.roleOf(role), 0.0);
+            assertEquals(roleTotal, payroll.getTotalOfRole(role), DELTA, rates.roleOf(role));
+        }
+        for (int i = 0; i < this.employees.size(); i++) {
+            RoleEmployee employee = this.employees.get(i);
+            assertEquals(employee == null ? 0.0 : employee.calculateSalary(), payroll.getSalary(i), DELTA);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.jmiranda.academy.solid_principles.question_02.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PayrollEngineTest {
+
+    @Test
+    void salariesMatchTheSingleThreadedPath() {
+        List<Employee> employees = employees(10_000);
+
+        PayrollResult result = new PayrollEngine(new ForkJoinPool(4), 64).run(employees);
+
+        assertEquals(employees.size(), result.size());
+        for (int i = 0; i < employees.size(); i++) {
+            assertEquals(employees.get(i).calculateSalary(), result.getSalary(i));
+        }
+    }
+
+    @Test
+    void totalsDoNotDependOnTheNumberOfWorkers() {
+        List<Employee> employees = employees(10_000);
+
+        PayrollResult single = new PayrollEngine(new ForkJoinPool(1), 64).run(employees);
+        PayrollResult parallel = new PayrollEngine(new ForkJoinPool(8), 64).run(employees);
+
+        assertEquals(single.getTotalsByRole(), parallel.getTotalsByRole());
+        assertEquals(single.getTotal(), parallel.getTotal());
+    }
+
+    @Test
+    void aReloadDuringTheRunDoesNotMixRates() {
+        RateRegistry registry = new RateRegistry().setRate("Engineer", 10.0);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // Every salary calculated raises the rate, the run must still price everyone at the rate it started with.
+            employees.add(new RoleEmployee("Engineer " + i, 40, "Engineer", registry) {
+                @Override
+                double calculateSalary(RateTable rates) {
+                    registry.setRate("Engineer", registry.rateOf("Engineer") + 1);
+                    return super.calculateSalary(rates);
+                }
+            });
+        }
+
+        PayrollResult result = new PayrollEngine(new ForkJoinPool(4), 8).run(employees);
+
+        assertEquals(100 * 40 * 10.0, result.getTotal());
+    }
+
+    @Test
+    void batchPricesWithTheRegistryOfTheEmployees() {
+        RateRegistry registry = new RateRegistry().setRate("Engineer", 10.0);
+        List<Employee> employees = List.of(new RoleEmployee("Ada", 40, "Engineer", registry));
+
+        assertEquals(employees.get(0).calculateSalary(), PayrollBatch.fromEmployees(employees).totalSalary());
+        assertThrows(IllegalArgumentException.class, () -> PayrollBatch.fromEmployees(employees, RateRegistry.getDefault()));
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int hoursReported = 20 + i % 25;
+            switch (i % 3) {
+                case 0:
+                    employees.add(new Junior("Junior " + i, hoursReported));
+                    break;
+                case 1:
+                    employees.add(new Senior("Senior " + i, hoursReported));
+                    break;
+                default:
+                    employees.add(new Principal("Principal " + i, hoursReported));
+            }
+        }
+        return employees;
+    }
+}
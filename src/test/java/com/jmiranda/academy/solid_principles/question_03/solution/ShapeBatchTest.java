@@ -0,0 +1,109 @@
+package com.jmiranda.academy.solid_principles.question_03.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShapeBatchTest {
+
+    @Test
+    void theAreasAreTheOnesOfTheShapesInTheSameOrder() {
+        List<Shape> shapes = randomShapes(10_000, new Random(7));
+
+        ShapeAreas areas = ShapeBatch.of(shapes).computeAreas();
+
+        assertEquals(shapes.size(), areas.size());
+        for (int i = 0; i < shapes.size(); i++) {
+            Shape shape = shapes.get(i);
+            if (shape instanceof TwoDimensionalShape) {
+                double expected = ((TwoDimensionalShape) shape).getArea();
+                assertTrue(areas.hasArea(i));
+                assertEquals(expected, areas.getArea(i), Math.ulp(expected), "area of shape " + i);
+            } else {
+                assertFalse(areas.hasArea(i));
+            }
+        }
+    }
+
+    @Test
+    void theTotalsAreTheSumOfTheAreasOfTheShapes() {
+        List<Shape> shapes = randomShapes(10_000, new Random(11));
+        double expected = 0;
+        for (Shape shape : shapes) {
+            if (shape instanceof TwoDimensionalShape) {
+                expected += ((TwoDimensionalShape) shape).getArea();
+            }
+        }
+
+        ShapeBatch batch = ShapeBatch.of(shapes);
+        double[] forEachTotal = new double[1];
+        batch.forEachArea(area -> forEachTotal[0] += area);
+
+        // The batch sums the areas grouped by type, in another order than the list.
+        double tolerance = expected * 1e-12;
+        assertEquals(expected, batch.totalArea(), tolerance);
+        assertEquals(expected, batch.computeAreas().getTotal(), tolerance);
+        assertEquals(expected, forEachTotal[0], tolerance);
+    }
+
+    @Test
+    void anEmptyListHasNoArea() {
+        ShapeBatch batch = ShapeBatch.of(Collections.emptyList());
+        List<Double> areas = new ArrayList<>();
+        batch.forEachArea(areas::add);
+
+        assertEquals(0, batch.size());
+        assertEquals(0.0d, batch.totalArea());
+        assertEquals(0, batch.computeAreas().size());
+        assertEquals(0.0d, batch.computeAreas().getTotal());
+        assertTrue(areas.isEmpty());
+    }
+
+    /**
+     * Circles, squares, lines and a shape the batch has no array for, which goes through its own getArea.
+     */
+    static List<Shape> randomShapes(int count, Random random) {
+        List<Shape> shapes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double dimension = random.nextDouble() * 100;
+            switch (random.nextInt(4)) {
+                case 0:
+                    shapes.add(new CircleShape(dimension));
+                    break;
+                case 1:
+                    shapes.add(new SquareShape(dimension));
+                    break;
+                case 2:
+                    shapes.add(new LineShape());
+                    break;
+                default:
+                    shapes.add(new RightTriangleShape(dimension, random.nextDouble() * 100));
+                    break;
+            }
+        }
+        return shapes;
+    }
+
+    private static final class RightTriangleShape extends TwoDimensionalShape {
+
+        private final double base;
+        private final double height;
+
+        RightTriangleShape(double base, double height) {
+            this.base = base;
+            this.height = height;
+        }
+
+        @Override
+        double getArea() {
+            return this.base * this.height / 2;
+        }
+    }
+}
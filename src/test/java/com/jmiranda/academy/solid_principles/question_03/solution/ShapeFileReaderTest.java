@@ -0,0 +1,109 @@
+package com.jmiranda.academy.solid_principles.question_03.solution;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShapeFileReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackTheAreasOfTheWrittenShapes() throws IOException {
+        List<Shape> shapes = Arrays.asList(new CircleShape(5), new LineShape(), new SquareShape(7), new CircleShape(0.5),
+                new LineShape(), new SquareShape(1.25));
+        Path file = write(shapes);
+
+        List<Double> areas = new ArrayList<>();
+        try (ShapeFileReader reader = new ShapeFileReader(file)) {
+            reader.forEachArea(areas::add);
+        }
+
+        assertEquals(areasOf(shapes), areas);
+    }
+
+    @Test
+    void recordsCutByTheEndOfAWindowAreReadFromTheNextOne() throws IOException {
+        List<Shape> shapes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            shapes.add(i % 3 == 0 ? new CircleShape(i) : i % 3 == 1 ? new SquareShape(i) : new LineShape());
+        }
+        Path file = write(shapes);
+
+        // A window of 13 bytes cuts records of 9 bytes and of 1 byte at every possible position.
+        List<Double> areas = new ArrayList<>();
+        try (ShapeFileReader reader = new ShapeFileReader(file, 13)) {
+            reader.forEachArea(areas::add);
+        }
+
+        assertEquals(areasOf(shapes), areas);
+    }
+
+    @Test
+    void aTruncatedRecordIsReported() throws IOException {
+        Path file = write(Arrays.asList(new SquareShape(3), new CircleShape(2)));
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 3));
+
+        try (ShapeFileReader reader = new ShapeFileReader(file)) {
+            IOException error = assertThrows(IOException.class, reader::totalArea);
+            assertTrue(error.getMessage().contains("offset " + (ShapeFileFormat.HEADER_SIZE + ShapeFileFormat.MAX_RECORD_SIZE)),
+                    error.getMessage());
+        }
+    }
+
+    @Test
+    void anUnknownTagIsReportedEvenAtTheEndOfTheFile() throws IOException {
+        Path file = this.directory.resolve("unknown.shp");
+        ByteBuffer content = ByteBuffer.allocate(ShapeFileFormat.HEADER_SIZE + ShapeFileFormat.MAX_RECORD_SIZE + 1)
+                .putInt(ShapeFileFormat.MAGIC).putInt(ShapeFileFormat.VERSION)
+                .put(ShapeFileFormat.SQUARE).putDouble(2)
+                .put((byte) 42);
+        Files.write(file, content.array());
+
+        try (ShapeFileReader reader = new ShapeFileReader(file)) {
+            IOException error = assertThrows(IOException.class, reader::totalArea);
+            assertTrue(error.getMessage().startsWith("Unknown shape tag 42"), error.getMessage());
+        }
+    }
+
+    @Test
+    void aFileWithoutTheHeaderIsRejected() throws IOException {
+        Path file = this.directory.resolve("empty.shp");
+        Files.write(file, new byte[ShapeFileFormat.HEADER_SIZE - 1]);
+
+        assertThrows(IOException.class, () -> new ShapeFileReader(file));
+    }
+
+    private Path write(List<Shape> shapes) throws IOException {
+        Path file = this.directory.resolve("shapes.shp");
+        try (ShapeFileWriter writer = new ShapeFileWriter(file)) {
+            for (Shape shape : shapes) {
+                writer.write(shape);
+            }
+        }
+        return file;
+    }
+
+    private static List<Double> areasOf(List<Shape> shapes) {
+        List<Double> areas = new ArrayList<>();
+        for (Shape shape : shapes) {
+            if (shape instanceof TwoDimensionalShape) {
+                areas.add(((TwoDimensionalShape) shape).getArea());
+            }
+        }
+        return areas;
+    }
+}
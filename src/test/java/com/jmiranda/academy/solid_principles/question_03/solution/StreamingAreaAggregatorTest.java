@@ -0,0 +1,73 @@
+package com.jmiranda.academy.solid_principles.question_03.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingAreaAggregatorTest {
+
+    private static final double[] BUCKET_BOUNDS = {10, 100, 1000, 10_000};
+
+    @Test
+    void theStatisticsAreTheOnesOfTheAreasOfTheShapes() {
+        List<Shape> shapes = ShapeBatchTest.randomShapes(100_000, new Random(3));
+        AreaStatistics expected = new AreaStatistics(BUCKET_BOUNDS);
+        for (Shape shape : shapes) {
+            if (shape instanceof TwoDimensionalShape) {
+                expected.accept(((TwoDimensionalShape) shape).getArea());
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // A chunk size that doesn't divide the number of shapes, so the last chunk is partial.
+            AreaStatistics actual = new StreamingAreaAggregator(pool, 30_000)
+                    .aggregate(shapes.iterator(), new AreaStatistics(BUCKET_BOUNDS));
+
+            assertEquals(expected.getCount(), actual.getCount());
+            assertEquals(expected.getSum(), actual.getSum(), expected.getSum() * 1e-12);
+            assertEquals(expected.getMin(), actual.getMin());
+            assertEquals(expected.getMax(), actual.getMax());
+            assertArrayEquals(expected.getHistogram(), actual.getHistogram());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void anAreaOnABucketBoundGoesToTheNextBucket() {
+        AreaStatistics statistics = new StreamingAreaAggregator()
+                .aggregate(Arrays.asList(new SquareShape(1), new SquareShape(10), new SquareShape(200),
+                        new LineShape()).iterator(), new AreaStatistics(BUCKET_BOUNDS));
+
+        assertEquals(3, statistics.getCount());
+        assertArrayEquals(new long[]{1, 0, 1, 0, 1}, statistics.getHistogram());
+    }
+
+    @Test
+    void noShapesGiveEmptyStatistics() {
+        AreaStatistics statistics = new StreamingAreaAggregator()
+                .aggregate(Collections.<Shape>emptyIterator(), new AreaStatistics(BUCKET_BOUNDS));
+
+        assertEquals(0, statistics.getCount());
+        assertEquals(0.0d, statistics.getSum());
+        assertEquals(0.0d, statistics.getAverage());
+        assertArrayEquals(new long[BUCKET_BOUNDS.length + 1], statistics.getHistogram());
+    }
+
+    @Test
+    void onlyLinesGiveEmptyStatistics() {
+        AreaStatistics statistics = new StreamingAreaAggregator()
+                .aggregate(Collections.nCopies(5000, (Shape) new LineShape()).iterator(), new AreaStatistics(BUCKET_BOUNDS));
+
+        assertEquals(0, statistics.getCount());
+        assertArrayEquals(new long[BUCKET_BOUNDS.length + 1], statistics.getHistogram());
+    }
+}
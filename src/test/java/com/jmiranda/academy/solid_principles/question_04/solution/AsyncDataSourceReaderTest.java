@@ -0,0 +1,95 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncDataSourceReaderTest {
+
+    private static final List<Integer> IDS = IntStream.rangeClosed(1, 10).boxed().collect(Collectors.toList());
+
+    // The reads in flight, completed by the test in the order it chooses.
+    private final List<CompletableFuture<Record>> pending = new ArrayList<>();
+    private final List<Integer> pendingIds = new ArrayList<>();
+
+    private CompletableFuture<Record> read(int id) {
+        CompletableFuture<Record> read = new CompletableFuture<>();
+        this.pending.add(read);
+        this.pendingIds.add(id);
+        return read;
+    }
+
+    private void completeLast() {
+        int last = this.pending.size() - 1;
+        int id = this.pendingIds.remove(last);
+        this.pending.remove(last).complete(new Record(id, "Record " + id));
+    }
+
+    @Test
+    void keepsAtMostMaxConcurrencyReadsInFlight() throws Exception {
+        CompletableFuture<List<Record>> result = AsyncDataSourceReader.readRecords(this::read, IDS, 3);
+
+        while (!this.pending.isEmpty()) {
+            assertTrue(this.pending.size() <= 3, "reads in flight: " + this.pending.size());
+            completeLast();
+        }
+
+        assertEquals(10, result.get(1, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    void recordsAreInTheOrderOfTheIdsWhateverTheCompletionOrder() throws Exception {
+        CompletableFuture<List<Record>> result = AsyncDataSourceReader.readRecords(this::read, IDS, 10);
+
+        // The last read started completes first.
+        while (!this.pending.isEmpty()) {
+            completeLast();
+        }
+
+        List<Integer> ids = result.get(1, TimeUnit.SECONDS).stream().map(Record::getId).collect(Collectors.toList());
+        assertEquals(IDS, ids);
+    }
+
+    @Test
+    void aFailedReadFailsTheResult() {
+        IAsyncDataSourceReader reader = id -> id == 5
+                ? CompletableFuture.failedFuture(new NoSuchElementException())
+                : CompletableFuture.completedFuture(new Record(id, "Record " + id));
+
+        CompletableFuture<List<Record>> result = AsyncDataSourceReader.readRecords(reader, IDS, 2);
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof NoSuchElementException
+                || error.getCause().getCause() instanceof NoSuchElementException);
+    }
+
+    @Test
+    void aReaderThrowingInACompletionFailsTheResult() {
+        IAsyncDataSourceReader reader = id -> {
+            if (id == 2) {
+                throw new IllegalStateException("Connection lost");
+            }
+            return read(id);
+        };
+
+        CompletableFuture<List<Record>> result = AsyncDataSourceReader.readRecords(reader, IDS, 1);
+        assertFalse(result.isDone());
+        // The next read (id 2) starts on the completion of the first one, and throws there.
+        completeLast();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof IllegalStateException);
+    }
+}
@@ -0,0 +1,221 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingDataSourceTest {
+
+    private final CountingDataSource dataSource = new CountingDataSource();
+
+    @Test
+    void countsHitsAndMisses() {
+        CachingDataSource cache = new CachingDataSource(this.dataSource, 10);
+
+        cache.readRecord(1);
+        cache.readRecord(1);
+        cache.readRecord(2);
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, this.dataSource.reads.get());
+    }
+
+    @Test
+    void expiredRecordsAreLoadedAgain() throws InterruptedException {
+        CachingDataSource cache = cache(10, 20, EvictionPolicy.LRU);
+
+        cache.readRecord(1);
+        Thread.sleep(40);
+        cache.readRecord(1);
+
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, this.dataSource.reads.get());
+    }
+
+    @Test
+    void lruEvictsTheLeastRecentlyUsedRecord() {
+        CachingDataSource cache = cache(2, 0, EvictionPolicy.LRU);
+        cache.readRecord(1);
+        cache.readRecord(2);
+        cache.readRecord(1);
+
+        cache.readRecord(3);
+
+        assertEquals(1, cache.getEvictionCount());
+        cache.readRecord(1);
+        assertEquals(2, cache.getHitCount());
+        cache.readRecord(2);
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    void readsBeyondTheReadBufferStillCountAsAccesses() {
+        CachingDataSource cache = cache(2, 0, EvictionPolicy.LRU);
+        cache.readRecord(1);
+        cache.readRecord(2);
+        // Many more hits than a read buffer holds, the buffer is drained when it is full.
+        for (int i = 0; i < 100; i++) {
+            cache.readRecord(1);
+        }
+
+        cache.readRecord(3);
+
+        long hits = cache.getHitCount();
+        cache.readRecord(1);
+        assertEquals(hits + 1, cache.getHitCount());
+        cache.readRecord(2);
+        assertEquals(hits + 1, cache.getHitCount());
+    }
+
+    @Test
+    void concurrentReadsKeepTheCacheWithinItsMaximumSize() throws Exception {
+        CachingDataSource cache = cache(4, 0, EvictionPolicy.TINY_LFU);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                Random random = new Random(thread);
+                readers.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        int id = 1 + random.nextInt(10);
+                        assertEquals(id, cache.readRecord(id).getId());
+                    }
+                }));
+            }
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(cache.size() <= 4);
+        assertEquals(8 * 20_000, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    void tinyLfuDoesNotAdmitARecordLessPopularThanTheVictim() {
+        CachingDataSource cache = cache(2, 0, EvictionPolicy.TINY_LFU);
+        for (int i = 0; i < 3; i++) {
+            cache.readRecord(1);
+            cache.readRecord(2);
+        }
+
+        cache.readRecord(3);
+
+        // The one-time read isn't cached, and a rejected candidate isn't an eviction.
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+        long hits = cache.getHitCount();
+        cache.readRecord(1);
+        cache.readRecord(2);
+        assertEquals(hits + 2, cache.getHitCount());
+    }
+
+    @Test
+    void concurrentMissesLoadTheRecordOnce() throws Exception {
+        CachingDataSource cache = cache(10, 0, EvictionPolicy.LRU);
+        this.dataSource.gate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Record>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(executor.submit(() -> cache.readRecord(1)));
+            }
+            while (cache.getMissCount() < 8) {
+                Thread.sleep(1);
+            }
+            // Lets the waiting threads reach the pending load before it completes.
+            Thread.sleep(50);
+            this.dataSource.gate.countDown();
+            for (Future<Record> read : reads) {
+                assertEquals(1, read.get(10, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, this.dataSource.reads.get());
+    }
+
+    @Test
+    void writeInvalidatesTheCachedRecord() {
+        CachingDataSource cache = cache(10, 0, EvictionPolicy.LRU);
+        cache.readRecord(1);
+
+        cache.writeRecord(new Record(1, "Renamed"));
+
+        assertEquals("Renamed", cache.readRecord(1).getName());
+    }
+
+    @Test
+    void recordLoadedBeforeAWriteIsNotCached() throws Exception {
+        CachingDataSource cache = cache(10, 0, EvictionPolicy.LRU);
+        this.dataSource.gate = new CountDownLatch(1);
+        Thread reader = new Thread(() -> cache.readRecord(1));
+        reader.start();
+        while (this.dataSource.reads.get() == 0) {
+            Thread.sleep(1);
+        }
+
+        // The load has read the old record and is waiting, the write lands before it caches it.
+        cache.writeRecord(new Record(1, "Renamed"));
+        this.dataSource.gate.countDown();
+        reader.join();
+
+        assertEquals("Renamed", cache.readRecord(1).getName());
+    }
+
+    private CachingDataSource cache(int maximumSize, long timeToLiveMillis, EvictionPolicy evictionPolicy) {
+        return new CachingDataSource(this.dataSource, this.dataSource, maximumSize, timeToLiveMillis,
+                TimeUnit.MILLISECONDS, evictionPolicy);
+    }
+
+    /**
+     * Counts the reads, and can hold them after reading the record until the gate is opened.
+     */
+    private static final class CountingDataSource implements IDataSourceReader, IDataSourceWriter {
+
+        private final ConcurrentRecordStore store = new ConcurrentRecordStore();
+        private final AtomicInteger reads = new AtomicInteger();
+        private volatile CountDownLatch gate;
+
+        CountingDataSource() {
+            for (int id = 1; id <= 10; id++) {
+                this.store.writeRecord(new Record(id, "Record " + id));
+            }
+        }
+
+        @Override
+        public Record readRecord(int id) {
+            Record record = this.store.readRecord(id);
+            this.reads.incrementAndGet();
+            CountDownLatch gate = this.gate;
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return record;
+        }
+
+        @Override
+        public void writeRecord(Record record) {
+            this.store.writeRecord(record);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConcurrentRecordStoreTest {
+
+    private static final int WRITERS = 8;
+    private static final int RECORDS_PER_WRITER = 2000;
+
+    @Test
+    void concurrentWritersOfTheSameSegment() throws InterruptedException {
+        ConcurrentRecordStore store = new ConcurrentRecordStore();
+        int[] ids = idsOfSegment(0, WRITERS * RECORDS_PER_WRITER);
+
+        runWriters(writer -> {
+            for (int i = writer; i < ids.length; i += WRITERS) {
+                store.writeRecord(new Record(ids[i], "Record " + ids[i]));
+            }
+        });
+
+        assertEquals(ids.length, store.size());
+        for (int id : ids) {
+            assertEquals("Record " + id, store.readRecord(id).getName());
+        }
+    }
+
+    @Test
+    void concurrentWritersOfDifferentSegments() throws InterruptedException {
+        ConcurrentRecordStore store = new ConcurrentRecordStore();
+
+        runWriters(writer -> {
+            for (int i = 0; i < RECORDS_PER_WRITER; i++) {
+                int id = writer * RECORDS_PER_WRITER + i;
+                store.writeRecord(new Record(id, "Record " + id));
+            }
+        });
+
+        assertEquals(WRITERS * RECORDS_PER_WRITER, store.size());
+        for (int id = 0; id < WRITERS * RECORDS_PER_WRITER; id++) {
+            assertEquals("Record " + id, store.readRecord(id).getName());
+        }
+    }
+
+    @Test
+    void readersSeeEveryRecordWhileTheSegmentGrows() throws InterruptedException {
+        ConcurrentRecordStore store = new ConcurrentRecordStore();
+        int[] ids = idsOfSegment(0, 20_000);
+        int stored = 100;
+        for (int i = 0; i < stored; i++) {
+            store.writeRecord(new Record(ids[i], "Record " + ids[i]));
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                while (writing.get()) {
+                    for (int i = 0; i < stored; i++) {
+                        try {
+                            Record record = store.readRecord(ids[i]);
+                            if (!("Record " + ids[i]).equals(record.getName())) {
+                                failure.compareAndSet(null, "Wrong record for " + ids[i] + ": " + record.getName());
+                            }
+                        } catch (NoSuchElementException e) {
+                            failure.compareAndSet(null, "Record " + ids[i] + " not found");
+                        }
+                    }
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        // Every write goes to the segment the readers are reading, which grows from 16 slots to 32768.
+        for (int i = stored; i < ids.length; i++) {
+            store.writeRecord(new Record(ids[i], "Record " + ids[i]));
+        }
+        writing.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(ids.length, store.size());
+    }
+
+    @Test
+    void writingAnExistingIdReplacesItsRecord() throws InterruptedException {
+        ConcurrentRecordStore store = new ConcurrentRecordStore();
+        store.writeRecord(new Record(1, "Jeff"));
+        store.writeRecord(new Record(1, "Luca"));
+
+        assertEquals(1, store.size());
+        assertEquals("Luca", store.readRecord(1).getName());
+
+        // Every writer overwrites the same ids, the store still holds one record per id.
+        runWriters(writer -> {
+            for (int id = 0; id < RECORDS_PER_WRITER; id++) {
+                store.writeRecord(new Record(id, "Writer " + writer));
+            }
+        });
+
+        assertEquals(RECORDS_PER_WRITER, store.size());
+        for (int id = 0; id < RECORDS_PER_WRITER; id++) {
+            assertEquals("Writer", store.readRecord(id).getName().split(" ")[0]);
+        }
+    }
+
+    private static int[] idsOfSegment(int segment, int count) {
+        int[] ids = new int[count];
+        int found = 0;
+        for (int id = 0; found < count; id++) {
+            if (ConcurrentRecordStore.segmentOfId(id) == segment) {
+                ids[found++] = id;
+            }
+        }
+        return ids;
+    }
+
+    private static void runWriters(WriterTask task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                task.write(writer);
+            });
+            thread.start();
+            writers.add(thread);
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+    }
+
+    @FunctionalInterface
+    private interface WriterTask {
+        void write(int writer);
+    }
+}
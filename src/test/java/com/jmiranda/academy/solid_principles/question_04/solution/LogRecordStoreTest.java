@@ -0,0 +1,123 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRecordStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsSurviveARestart() throws IOException {
+        try (LogRecordStore store = new LogRecordStore(this.directory, 1024, 0, TimeUnit.SECONDS)) {
+            for (int i = 0; i < 500; i++) {
+                store.writeRecord(new Record(i % 100, "Name " + i));
+            }
+        }
+
+        try (LogRecordStore store = new LogRecordStore(this.directory, 1024, 0, TimeUnit.SECONDS)) {
+            assertEquals(100, store.size());
+            assertEquals("Name 442", store.readRecord(42).getName());
+            assertThrows(NoSuchElementException.class, () -> store.readRecord(100));
+        }
+    }
+
+    @Test
+    void tornEntryAtTheEndIsDiscarded() throws IOException {
+        try (LogRecordStore store = new LogRecordStore(this.directory, 1024, 0, TimeUnit.SECONDS)) {
+            store.writeRecord(new Record(1, "Jeff"));
+        }
+        Files.write(lastSegment(), new byte[]{0, 0, 0, 7, 0, 0}, StandardOpenOption.APPEND);
+
+        try (LogRecordStore store = new LogRecordStore(this.directory, 1024, 0, TimeUnit.SECONDS)) {
+            assertEquals(1, store.size());
+            assertEquals("Jeff", store.readRecord(1).getName());
+            store.writeRecord(new Record(2, "Luca"));
+            assertEquals("Luca", store.readRecord(2).getName());
+        }
+    }
+
+    @Test
+    void garbageHeaderWithAHugeLengthIsDiscarded() throws IOException {
+        try (LogRecordStore store = new LogRecordStore(this.directory, 1024, 0, TimeUnit.SECONDS)) {
+            store.writeRecord(new Record(1, "Jeff"));
+        }
+        // CRC, id, then a name length that overflows the entry length if it is added as an int.
+        byte[] garbage = ByteBuffer.allocate(12).putInt(0xCAFE).putInt(2).putInt(Integer.MAX_VALUE - 4).array();
+        Files.write(lastSegment(), garbage, StandardOpenOption.APPEND);
+
+        try (LogRecordStore store = new LogRecordStore(this.directory, 1024, 0, TimeUnit.SECONDS)) {
+            assertEquals(1, store.size());
+            assertEquals("Jeff", store.readRecord(1).getName());
+            assertThrows(NoSuchElementException.class, () -> store.readRecord(2));
+        }
+    }
+
+    @Test
+    void batchesSpanSegmentsAndSurviveARestart() throws IOException {
+        List<Record> batch = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            batch.add(new Record(i % 200, "Name " + i));
+        }
+        try (LogRecordStore store = new LogRecordStore(this.directory, 1024, 0, TimeUnit.SECONDS)) {
+            store.writeRecords(batch);
+
+            assertEquals(200, store.size());
+            assertEquals("Name 250", store.readRecord(50).getName());
+            assertTrue(segmentCount() > 1);
+        }
+
+        try (LogRecordStore store = new LogRecordStore(this.directory, 1024, 0, TimeUnit.SECONDS)) {
+            assertEquals(200, store.size());
+            assertEquals("Name 250", store.readRecord(50).getName());
+            assertEquals("Name 199", store.readRecord(199).getName());
+        }
+    }
+
+    @Test
+    void compactionDropsSupersededRecords() throws IOException {
+        try (LogRecordStore store = new LogRecordStore(this.directory, 1024, 0, TimeUnit.SECONDS)) {
+            for (int i = 0; i < 1000; i++) {
+                store.writeRecord(new Record(i % 10, "Name " + i));
+            }
+            long segmentsBefore = segmentCount();
+
+            store.compact();
+
+            assertTrue(segmentCount() < segmentsBefore);
+            assertEquals("Name 995", store.readRecord(5).getName());
+        }
+
+        try (LogRecordStore store = new LogRecordStore(this.directory, 1024, 0, TimeUnit.SECONDS)) {
+            assertEquals("Name 995", store.readRecord(5).getName());
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.count();
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.sorted().reduce((first, second) -> second).orElseThrow();
+        }
+    }
+}
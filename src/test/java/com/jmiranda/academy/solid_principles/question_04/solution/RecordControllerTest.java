@@ -0,0 +1,103 @@
+package com.jmiranda.academy.solid_principles.question_04.solution;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecordControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecordRepository recordRepository;
+
+    @BeforeEach
+    void storeRecords() {
+        this.recordRepository.deleteAllInBatch();
+        this.recordRepository.saveAll(Arrays.asList(new Record(1, "Margot"), new Record(2, "Thomas"),
+                new Record(3, "Tamara"), new Record(4, "Ana"), new Record(5, "Jorge")));
+    }
+
+    @Test
+    void theListingIsPagedByTheLastIdOfThePreviousPage() throws Exception {
+        this.mockMvc.perform(get("/records").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records[*].id").value(contains(1, 2)))
+                .andExpect(jsonPath("$.next").value(2));
+        this.mockMvc.perform(get("/records").param("after", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records[*].id").value(contains(3, 4)))
+                .andExpect(jsonPath("$.next").value(4));
+        this.mockMvc.perform(get("/records").param("after", "4").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records[*].id").value(contains(5)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void aPageSizeOutOfBoundsIsRejected() throws Exception {
+        this.mockMvc.perform(get("/records").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        this.mockMvc.perform(get("/records").param("size", String.valueOf(RecordController.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void aRecordNotModifiedSinceItsETagIsNotSentAgain() throws Exception {
+        String etag = this.mockMvc.perform(get("/records/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Tamara"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        this.mockMvc.perform(get("/records/3").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        this.recordRepository.save(new Record(3, "Tamara Ruiz"));
+        this.mockMvc.perform(get("/records/3").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.name").value("Tamara Ruiz"));
+    }
+
+    @Test
+    void anUnknownRecordIsNotFound() throws Exception {
+        this.mockMvc.perform(get("/records/42"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void theExportStreamsEveryRecord() throws Exception {
+        MvcResult export = this.mockMvc.perform(get("/records/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":1,\"name\":\"Margot\"},{\"id\":2,\"name\":\"Thomas\"},"
+                        + "{\"id\":3,\"name\":\"Tamara\"},{\"id\":4,\"name\":\"Ana\"},{\"id\":5,\"name\":\"Jorge\"}]", true));
+    }
+}
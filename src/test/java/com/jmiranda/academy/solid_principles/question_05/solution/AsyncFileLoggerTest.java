@@ -0,0 +1,81 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncFileLoggerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void idleLoggerFlushesAfterTheInterval() throws Exception {
+        Path file = this.directory.resolve("idle.log");
+        AsyncFileLogger logger = new AsyncFileLogger(file, 1024, OverflowPolicy.BLOCK, 64 * 1024,
+                20, TimeUnit.MILLISECONDS, error -> { });
+        try {
+            logger.log("first");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (Files.size(file) == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertEquals(List.of("first"), Files.readAllLines(file));
+        } finally {
+            logger.close();
+        }
+    }
+
+    @Test
+    void everyMessageAcceptedWhileClosingIsWritten() throws Exception {
+        Path file = this.directory.resolve("closing.log");
+        AsyncFileLogger logger = new AsyncFileLogger(file, 64, OverflowPolicy.DROP, 1024,
+                1, TimeUnit.SECONDS, error -> { });
+        AtomicLong accepted = new AtomicLong();
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread producer = new Thread(() -> {
+                try {
+                    while (true) {
+                        logger.log("message");
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException closed) {
+                    // The logger is closed.
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        Thread.sleep(20);
+
+        logger.close();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        // An accepted message is either written or counted as dropped, none is lost on the way.
+        long written = lines(file);
+        assertTrue(written > 0);
+        assertEquals(accepted.get(), written + logger.getDroppedCount());
+    }
+
+    private static long lines(Path file) throws IOException {
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.count();
+        }
+    }
+}
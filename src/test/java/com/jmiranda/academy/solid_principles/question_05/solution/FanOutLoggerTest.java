@@ -0,0 +1,114 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FanOutLoggerTest {
+
+    @Test
+    void everySinkGetsEveryMessage() {
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+        AsyncSinkLogger failing = new AsyncSinkLogger("failing", message -> {
+            throw new IllegalStateException("Unavailable");
+        }, OverflowPolicy.DROP);
+        FanOutLogger logger = new FanOutLogger(new AsyncSinkLogger("first", first::add, OverflowPolicy.DROP),
+                new AsyncSinkLogger("second", second::add, OverflowPolicy.DROP), failing);
+
+        logger.log("one");
+        logger.log("two");
+        logger.close();
+
+        assertEquals(List.of("one", "two"), first);
+        assertEquals(List.of("one", "two"), second);
+        assertEquals(2, failing.getFailedCount());
+    }
+
+    @Test
+    void dropKeepsTheOldestMessages() throws InterruptedException {
+        StalledSink sink = new StalledSink();
+        AsyncSinkLogger dropping = new AsyncSinkLogger("drop", sink, 2, OverflowPolicy.DROP);
+
+        logWhileStalled(new FanOutLogger(dropping), sink, 5);
+
+        assertEquals(List.of("0", "1", "2"), sink.delivered);
+        assertEquals(3, dropping.getDroppedCount());
+    }
+
+    @Test
+    void dropOldestKeepsTheLatestMessages() throws InterruptedException {
+        StalledSink sink = new StalledSink();
+        AsyncSinkLogger dropping = new AsyncSinkLogger("drop-oldest", sink, 2, OverflowPolicy.DROP_OLDEST);
+
+        logWhileStalled(new FanOutLogger(dropping), sink, 5);
+
+        assertEquals(List.of("0", "4", "5"), sink.delivered);
+        assertEquals(3, dropping.getDroppedCount());
+    }
+
+    @Test
+    void sampleDropOldestLetsASampleThroughWithoutWaiting() throws InterruptedException {
+        StalledSink sink = new StalledSink();
+        AsyncSinkLogger sampling = new AsyncSinkLogger("sample", sink, 2, OverflowPolicy.SAMPLE_DROP_OLDEST);
+
+        // 1 and 2 fill the queue, then the 100th and the 200th rejected messages take the room of the oldest.
+        logWhileStalled(new FanOutLogger(sampling), sink, 2 + 2 * OverflowPolicy.SAMPLE_RATE);
+
+        assertEquals(List.of("0", "102", "202"), sink.delivered);
+        assertEquals(2 * OverflowPolicy.SAMPLE_RATE, sampling.getDroppedCount());
+    }
+
+    @Test
+    void sinksThatMakeTheCallerWaitAreRejected() {
+        AsyncSinkLogger blocking = new AsyncSinkLogger("blocking", message -> { }, OverflowPolicy.BLOCK);
+        AsyncSinkLogger sampling = new AsyncSinkLogger("sampling", message -> { }, OverflowPolicy.SAMPLE);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> new FanOutLogger(blocking));
+            assertThrows(IllegalArgumentException.class, () -> new FanOutLogger(sampling));
+        } finally {
+            blocking.close();
+            sampling.close();
+        }
+    }
+
+    /**
+     * Logs "0", waits until the sink is stuck delivering it, logs "1" to the given last message into the full queue, and
+     * lets the sink go.
+     */
+    private static void logWhileStalled(FanOutLogger logger, StalledSink sink, int last) throws InterruptedException {
+        logger.log("0");
+        sink.entered.await();
+        for (int i = 1; i <= last; i++) {
+            logger.log(Integer.toString(i));
+        }
+        sink.release.countDown();
+        logger.close();
+    }
+
+    /**
+     * Sink blocking on its first message until it is released.
+     */
+    private static final class StalledSink implements ILogger {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void log(String message) {
+            this.delivered.add(message);
+            this.entered.countDown();
+            try {
+                this.release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
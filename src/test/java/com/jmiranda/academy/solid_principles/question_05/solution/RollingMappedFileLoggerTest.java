@@ -0,0 +1,120 @@
+package com.jmiranda.academy.solid_principles.question_05.solution;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RollingMappedFileLoggerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void fullFilesAreRolledOverWithoutLosingMessages() throws IOException {
+        Path file = this.directory.resolve("size.log");
+        List<String> messages = new ArrayList<>();
+        try (RollingMappedFileLogger logger = new RollingMappedFileLogger(file, 1024, 1, TimeUnit.DAYS, 100, error -> { })) {
+            for (int i = 0; i < 100; i++) {
+                String message = "Message " + i + " " + "x".repeat(40);
+                messages.add(message);
+                logger.log(message);
+            }
+            assertEquals(0, logger.getFailedArchiveCount());
+        }
+
+        List<Path> archives = archives(file);
+        assertTrue(archives.size() >= 4);
+        // The file mapped in advance is deleted on close.
+        assertFalse(Files.exists(file.resolveSibling("size.log.next")));
+        List<String> lines = new ArrayList<>();
+        for (Path archive : archives) {
+            lines.addAll(gunzip(archive));
+        }
+        lines.addAll(Files.readAllLines(file));
+        assertEquals(messages, lines);
+    }
+
+    @Test
+    void oldFilesAreRolledOverOnTheNextMessage() throws Exception {
+        Path file = this.directory.resolve("time.log");
+        try (RollingMappedFileLogger logger = new RollingMappedFileLogger(file, 1024, 50, TimeUnit.MILLISECONDS, 100, error -> { })) {
+            logger.log("before");
+            Thread.sleep(100);
+            logger.log("after");
+        }
+
+        List<Path> archives = archives(file);
+        assertEquals(1, archives.size());
+        assertEquals(List.of("before"), gunzip(archives.get(0)));
+        assertEquals(List.of("after"), Files.readAllLines(file));
+    }
+
+    @Test
+    void fileOfAPreviousRunIsTrimmedAndArchived() throws IOException {
+        Path file = this.directory.resolve("previous.log");
+        byte[] content = new byte[4096];
+        byte[] line = ("left over" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(line, 0, content, 0, line.length);
+        Files.write(file, content);
+
+        try (RollingMappedFileLogger logger = new RollingMappedFileLogger(file, 1024, 1, TimeUnit.DAYS, 100, error -> { })) {
+            logger.log("new run");
+        }
+
+        List<Path> archives = archives(file);
+        assertEquals(1, archives.size());
+        assertEquals(List.of("left over"), gunzip(archives.get(0)));
+        assertEquals(List.of("new run"), Files.readAllLines(file));
+    }
+
+    @Test
+    void onlyTheLastArchivesAreKept() throws IOException {
+        Path file = this.directory.resolve("retention.log");
+        try (RollingMappedFileLogger logger = new RollingMappedFileLogger(file, 1024, 1, TimeUnit.DAYS, 2, error -> { })) {
+            for (int i = 0; i < 100; i++) {
+                logger.log("Message " + i + " " + "x".repeat(40));
+            }
+        }
+
+        List<Path> archives = archives(file);
+        assertEquals(2, archives.size());
+        // The kept archives are the newest ones, right before the active file.
+        List<String> lines = new ArrayList<>(gunzip(archives.get(0)));
+        lines.addAll(gunzip(archives.get(1)));
+        lines.addAll(Files.readAllLines(file));
+        assertEquals("Message 99 " + "x".repeat(40), lines.get(lines.size() - 1));
+        for (int i = 1; i < lines.size(); i++) {
+            assertEquals(Integer.parseInt(lines.get(i - 1).split(" ")[1]) + 1, Integer.parseInt(lines.get(i).split(" ")[1]));
+        }
+    }
+
+    private List<Path> archives(Path file) throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(file.getFileName() + ".")
+                            && path.getFileName().toString().endsWith(".gz"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> gunzip(Path archive) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archive))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+        }
+    }
+}